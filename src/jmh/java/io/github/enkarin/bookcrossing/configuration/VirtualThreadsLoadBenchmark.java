@@ -0,0 +1,87 @@
+package io.github.enkarin.bookcrossing.configuration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает пул из 200 платформенных потоков (как у Tomcat по умолчанию) с виртуальными потоками
+ * под нагрузкой 400 одновременных клиентов. Каждый запрос держит соединение из пула в 10 соединений
+ * через {@link BoundedDataSource}, а каждый десятый ещё ждёт медленный внешний вызов вроде отправки письма по SMTP.
+ * Запуск на Java 21: mvn -Pjmh,virtual-threads test-compile exec:exec -Djmh.args="VirtualThreadsLoadBenchmark",
+ * пропускная способность выводится в режиме thrpt, а p0.99 времени ответа в режиме sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class VirtualThreadsLoadBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+    private static final long QUERY_MILLIS = 1;
+    private static final double SLOW_CALL_SHARE = 0.1;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"0", "300"})
+    private long smtpDelayMillis;
+
+    private ExecutorService server;
+    private DataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        server = "virtual".equals(threads) ? VirtualThreads.newThreadPerTaskExecutor("request-") : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        dataSource = new BoundedDataSource(stubDataSource(), POOL_SIZE, Duration.ofSeconds(30));
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.shutdownNow();
+    }
+
+    @Benchmark
+    public Object request() throws Exception {
+        return server.submit(this::handle).get();
+    }
+
+    private Object handle() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            Thread.sleep(QUERY_MILLIS);
+        }
+        if (smtpDelayMillis > 0 && ThreadLocalRandom.current().nextDouble() < SLOW_CALL_SHARE) {
+            Thread.sleep(smtpDelayMillis);
+        }
+        return Boolean.TRUE;
+    }
+
+    private static DataSource stubDataSource() {
+        final Connection connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> null);
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+            (proxy, method, args) -> connection);
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import org.imgscalr.Scalr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает прежнюю обработку загруженного изображения (полное декодирование, два независимых уменьшения
+ * и новый ImageWriter на каждую копию) с текущей из {@link ImageProcessor}.
+ * Запуск: mvn -Pjmh test-compile exec:exec, расход памяти на операцию выводится профилировщиком gc в gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImagePipelineBenchmark {
+    private static final String GENERATED_PHOTO = "generated-4000x3000.jpg";
+
+    @Param({"image.jpg", "nature.jpeg", "antelope.png", GENERATED_PHOTO})
+    private String file;
+
+    private byte[] content;
+    private ImageProcessor imageProcessor;
+
+    @Setup
+    public void setUp() throws IOException {
+        content = GENERATED_PHOTO.equals(file) ? generatePhoto() : new ClassPathResource("files/" + file).getInputStream().readAllBytes();
+        imageProcessor = new ImageProcessor(new JpegImageEncoder(0.8f, 1), Scalr.Method.BALANCED);
+    }
+
+    @Benchmark
+    public void legacy(final Blackhole blackhole) throws IOException {
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+        blackhole.consume(legacyCompress(image, 200, 300));
+        blackhole.consume(legacyCompress(image, 70, 70));
+    }
+
+    @Benchmark
+    public void current(final Blackhole blackhole) throws IOException {
+        final BufferedImage image = imageProcessor.decode(new ByteArrayResource(content), 300, 200);
+        final BufferedImage list = imageProcessor.resize(image, 300, 200);
+        blackhole.consume(imageProcessor.encode(list));
+        blackhole.consume(imageProcessor.encode(imageProcessor.resize(list, 70, 70)));
+    }
+
+    private static byte[] legacyCompress(final BufferedImage image, final int height, final int width) throws IOException {
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(Scalr.resize(image, width, height), null, null), writer.getDefaultWriteParam());
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] generatePhoto() throws IOException {
+        final BufferedImage image = new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, 4000, 3000, Color.BLUE));
+            graphics.fillRect(0, 0, 4000, 3000);
+        } finally {
+            graphics.dispose();
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+}
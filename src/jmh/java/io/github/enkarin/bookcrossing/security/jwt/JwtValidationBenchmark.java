@@ -0,0 +1,64 @@
+package io.github.enkarin.bookcrossing.security.jwt;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает проверку токена доступа с созданием ключа и парсера на каждый вызов, как было раньше,
+ * с проверкой готовым парсером {@link JwtProvider}.
+ * Запуск: mvn -Pjmh test-compile exec:exec -Djmh.args="JwtValidationBenchmark -prof gc".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtValidationBenchmark {
+    private static final String SECRET = "scjwtmaster";
+
+    private JwtProvider jwtProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = new JwtProvider(new TimeSettings(), SECRET);
+        token = jwtProvider.generateToken(1, "alex", List.of("ROLE_USER"), 0);
+    }
+
+    @Benchmark
+    public Claims parserPerCall() throws NoSuchAlgorithmException {
+        final byte[] key = MessageDigest.getInstance("SHA-512").digest(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+            .setSigningKey(Keys.hmacShaKeyFor(key))
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
+
+    @Benchmark
+    public Optional<AccessTokenClaims> prebuiltParser() {
+        return jwtProvider.parseToken(token);
+    }
+}
@@ -2,11 +2,13 @@ package io.github.enkarin.bookcrossing.admin.service;
 
 import io.github.enkarin.bookcrossing.admin.dto.InfoUsersDto;
 import io.github.enkarin.bookcrossing.admin.dto.LockedUserDto;
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
 import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.mail.service.MailService;
 import io.github.enkarin.bookcrossing.user.model.User;
 import io.github.enkarin.bookcrossing.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,12 +20,15 @@ import java.util.List;
 public class AdminService {
     private final UserRepository userRepository;
     private final MailService mailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimeSettings timeSettings;
 
     @Transactional
     public boolean lockedUser(final LockedUserDto lockedUserDto) {
         User user = userRepository.findByLogin(lockedUserDto.getLogin())
             .orElseThrow(UserNotFoundException::new);
         user.setAccountNonLocked(false);
+        eventPublisher.publishEvent(user.revokeTokens(timeSettings.getEpochSeconds()));
         user = userRepository.save(user);
         mailService.sendBlockingMessage(user, lockedUserDto.getComment());
         return user.isAccountNonLocked();
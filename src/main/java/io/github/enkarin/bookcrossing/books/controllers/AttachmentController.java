@@ -15,11 +15,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -30,11 +31,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.security.Principal;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
 
@@ -46,6 +45,12 @@ import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
 @RequiredArgsConstructor
 @RequestMapping("/user/myBook/attachment")
 public class AttachmentController {
+    /**
+     * Вложение по идентификатору никогда не меняется: новая загрузка создаёт новое вложение, а идентификаторы не переиспользуются.
+     */
+    private static final String IMMUTABLE_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().getHeaderValue() + ", immutable";
+    private static final String PROVISIONAL_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
     private final AttachmentService attachmentService;
 
     @Operation(
@@ -93,19 +98,24 @@ public class AttachmentController {
         @ApiResponse(responseCode = "404", description = "Вложения не существует",
             content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
         @ApiResponse(responseCode = "200", description = "Вложение отправлено",
-            content = {@Content(mediaType = Constant.JPG), @Content(mediaType = Constant.BMP), @Content(mediaType = Constant.PNG)})
+            content = {@Content(mediaType = Constant.JPG), @Content(mediaType = Constant.BMP), @Content(mediaType = Constant.PNG)}),
+        @ApiResponse(responseCode = "206", description = "Отправлена запрошенная заголовком Range часть вложения",
+            content = {@Content(mediaType = Constant.JPG), @Content(mediaType = Constant.BMP), @Content(mediaType = Constant.PNG)}),
+        @ApiResponse(responseCode = "304", description = "Вложение не изменилось с версии, указанной в If-None-Match")
     })
     @GetMapping
-    public void findAttachment(@RequestParam final int id, @RequestParam final FormatType format, final HttpServletResponse response) throws IOException {
+    public ResponseEntity<Resource> findAttachment(@RequestParam final int id, @RequestParam final FormatType format) {
         final AttachmentDto attachmentData = attachmentService.findAttachmentData(id, format);
-        response.setContentType(switch (attachmentData.getExpansion()) {
-            case "png" -> MediaType.IMAGE_PNG_VALUE;
-            case "bmp" -> "image/bmp";
-            default -> MediaType.IMAGE_JPEG_VALUE;
-        });
-        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + id + '.' + attachmentData.getExpansion() + '"');
-        response.setContentLength(attachmentData.getData().length);
-        FileCopyUtils.copy(new ByteArrayInputStream(attachmentData.getData()), response.getOutputStream());
+        return ResponseEntity.ok()
+            .contentType(switch (attachmentData.getExpansion()) {
+                case "png" -> MediaType.IMAGE_PNG;
+                case "bmp" -> MediaType.parseMediaType(Constant.BMP);
+                default -> MediaType.IMAGE_JPEG;
+            })
+            .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + id + '.' + attachmentData.getExpansion() + '"')
+            .header(HttpHeaders.CACHE_CONTROL, attachmentData.isProvisional() ? PROVISIONAL_CACHE_CONTROL : IMMUTABLE_CACHE_CONTROL)
+            .eTag(attachmentData.getContentHash())
+            .body(attachmentData.getData());
     }
 
     @Operation(
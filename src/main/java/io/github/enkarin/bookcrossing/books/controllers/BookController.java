@@ -1,9 +1,13 @@
 package io.github.enkarin.bookcrossing.books.controllers;
 
+import io.github.enkarin.bookcrossing.books.dto.BookCursorPageDto;
 import io.github.enkarin.bookcrossing.books.dto.BookFiltersRequest;
 import io.github.enkarin.bookcrossing.books.dto.BookModelDto;
 import io.github.enkarin.bookcrossing.books.service.BookService;
 import io.github.enkarin.bookcrossing.constant.Constant;
+import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.exception.BindingErrorsException;
+import io.github.enkarin.bookcrossing.exception.InvalidCursorException;
 import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,17 +19,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.ObjectError;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotBlank;
 import java.util.List;
+import java.util.Map;
+
+import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
 
 @Tag(
     name = "Раздел со всеми книгами в системе",
@@ -45,13 +60,32 @@ public class BookController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Возвращает все книги",
-            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = BookModelDto.class)))})
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = BookModelDto.class)))}),
+        @ApiResponse(responseCode = "400", description = "Некорректный номер или размер страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/ValidationErrorBody"))})
     })
     @GetMapping("/all")
-    public ResponseEntity<List<BookModelDto>> books(@RequestParam final int pageNumber, @RequestParam final int pageSize) {
+    public ResponseEntity<List<BookModelDto>> books(@RequestParam @Min(value = 0, message = "3017") final int pageNumber,
+                                                    @RequestParam @Min(value = 1, message = "3016") @Max(value = Constant.MAX_PAGE_SIZE, message = "3016") final int pageSize) {
         return ResponseEntity.ok(bookService.findAll(pageNumber, pageSize));
     }
 
+    @Operation(
+        summary = "Все книги в системе с курсорной пагинацией",
+        description = "Позволяет получить книги всех пользователей постранично, продолжая с переданного курсора"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Возвращает страницу книг и курсор следующей страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(implementation = BookCursorPageDto.class))}),
+        @ApiResponse(responseCode = "400", description = "Некорректный курсор или размер страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))})
+    })
+    @GetMapping("/all/cursor")
+    public ResponseEntity<BookCursorPageDto> booksAfter(@RequestParam(required = false) @Parameter(description = "Курсор из предыдущей страницы") final String cursor,
+                                                        @RequestParam @Min(value = 1, message = "3016") @Max(value = Constant.MAX_PAGE_SIZE, message = "3016") final int pageSize) {
+        return ResponseEntity.ok(bookService.findAllAfter(cursor, pageSize));
+    }
+
     @Operation(
         summary = "Все книги пользователя",
         description = "Позволяет получить книги пользователя по его id"
@@ -92,30 +126,88 @@ public class BookController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Возвращает найденные книги",
             content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = BookModelDto.class)))}),
-        @ApiResponse(responseCode = "400", description = "Поле name не должно быть пустым",
+        @ApiResponse(responseCode = "400", description = "Поле name не должно быть пустым, номер или размер страницы некорректен",
             content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/ValidationErrorBody"))})
     })
     @GetMapping("/searchByTitle")
     public ResponseEntity<List<BookModelDto>> searchByTitleOrAuthor(
         @RequestParam @NotBlank(message = "3008") @Parameter(description = "Полное называние книги или имя автора") final String name,
-        @RequestParam final int pageNumber,
-        @RequestParam final int pageSize) {
+        @RequestParam @Min(value = 0, message = "3017") final int pageNumber,
+        @RequestParam @Min(value = 1, message = "3016") @Max(value = Constant.MAX_PAGE_SIZE, message = "3016") final int pageSize) {
         return ResponseEntity.ok(bookService.findByTitleOrAuthor(name, pageNumber, pageSize));
     }
 
+    @Operation(
+        summary = "Поиск книг по названию или автору с курсорной пагинацией",
+        description = "Позволяет найти книги по названию или автору, продолжая с переданного курсора"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Возвращает страницу найденных книг и курсор следующей страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(implementation = BookCursorPageDto.class))}),
+        @ApiResponse(responseCode = "400", description = "Поле name не должно быть пустым, курсор или размер страницы некорректен",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/ValidationErrorBody"))})
+    })
+    @GetMapping("/searchByTitle/cursor")
+    public ResponseEntity<BookCursorPageDto> searchByTitleOrAuthorAfter(
+        @RequestParam @NotBlank(message = "3008") @Parameter(description = "Полное называние книги или имя автора") final String name,
+        @RequestParam(required = false) @Parameter(description = "Курсор из предыдущей страницы") final String cursor,
+        @RequestParam @Min(value = 1, message = "3016") @Max(value = Constant.MAX_PAGE_SIZE, message = "3016") final int pageSize) {
+        return ResponseEntity.ok(bookService.findByTitleOrAuthorAfter(name, cursor, pageSize));
+    }
+
+    @Operation(
+        summary = "Полнотекстовый поиск книг",
+        description = "Позволяет найти книги по словам из названия, имени автора и издательства. Результаты упорядочены по релевантности"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Возвращает найденные книги",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = BookModelDto.class)))}),
+        @ApiResponse(responseCode = "400", description = "Поле name не должно быть пустым, номер или размер страницы некорректен",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/ValidationErrorBody"))})
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<BookModelDto>> search(
+        @RequestParam @NotBlank(message = "3008") @Parameter(description = "Поисковый запрос", example = "портрет дориана") final String name,
+        @RequestParam @Min(value = 0, message = "3017") final int pageNumber,
+        @RequestParam @Min(value = 1, message = "3016") @Max(value = Constant.MAX_PAGE_SIZE, message = "3016") final int pageSize) {
+        return ResponseEntity.ok(bookService.search(name, pageNumber, pageSize));
+    }
+
     @Operation(
         summary = "Поиск книг с фильтрацией",
         description = "Позволяет найти книги с помощью фильтров"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Возвращает найденные книги",
-            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = BookModelDto.class)))})
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = BookModelDto.class)))}),
+        @ApiResponse(responseCode = "406", description = "Некорректный номер или размер страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/ValidationErrorBody"))})
     })
     @PostMapping("/searchWithFilters")
-    public ResponseEntity<List<BookModelDto>> searchWithFilters(@RequestBody final BookFiltersRequest filters) {
+    public ResponseEntity<List<BookModelDto>> searchWithFilters(@Valid @RequestBody final BookFiltersRequest filters, final BindingResult bindingResult) {
+        checkBindingErrors(bindingResult);
         return ResponseEntity.ok(bookService.filter(filters));
     }
 
+    @Operation(
+        summary = "Поиск книг с фильтрацией и курсорной пагинацией",
+        description = "Позволяет найти книги с помощью фильтров, продолжая с переданного курсора. Номер страницы из фильтров игнорируется"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Возвращает страницу найденных книг и курсор следующей страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(implementation = BookCursorPageDto.class))}),
+        @ApiResponse(responseCode = "400", description = "Некорректный курсор",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
+        @ApiResponse(responseCode = "406", description = "Некорректный размер страницы",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/ValidationErrorBody"))})
+    })
+    @PostMapping("/searchWithFilters/cursor")
+    public ResponseEntity<BookCursorPageDto> searchWithFiltersAfter(@Valid @RequestBody final BookFiltersRequest filters, final BindingResult bindingResult,
+                                                                    @RequestParam(required = false) @Parameter(description = "Курсор из предыдущей страницы") final String cursor) {
+        checkBindingErrors(bindingResult);
+        return ResponseEntity.ok(bookService.filterAfter(filters, cursor));
+    }
+
     @Operation(summary = "Получение владельца книги", description = "Позволяет получить информацию о владельце книги по её идентификатору")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Возвращает найденные книги",
@@ -127,4 +219,18 @@ public class BookController {
     public ResponseEntity<UserPublicProfileDto> searchBookOwner(@RequestParam final int bookId, @RequestParam final int zoneId) {
         return ResponseEntity.ok(bookService.findBookOwner(bookId, zoneId));
     }
+
+    private static void checkBindingErrors(final BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            throw new BindingErrorsException(bindingResult.getAllErrors().stream()
+                .map(ObjectError::getDefaultMessage)
+                .toList());
+        }
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(InvalidCursorException.class)
+    public Map<String, String> invalidCursor() {
+        return createErrorMap(ErrorMessage.ERROR_2009);
+    }
 }
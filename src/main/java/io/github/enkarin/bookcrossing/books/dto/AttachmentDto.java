@@ -1,11 +1,10 @@
 package io.github.enkarin.bookcrossing.books.dto;
 
-import io.github.enkarin.bookcrossing.books.enums.FormatType;
-import io.github.enkarin.bookcrossing.books.model.Attachment;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import org.springframework.core.io.Resource;
 
 @Getter
 @EqualsAndHashCode
@@ -14,17 +13,18 @@ public class AttachmentDto {
 
     private final int attachId;
 
-    private final byte[] data;
+    private final Resource data;
 
     private final String expansion;
 
-    public static AttachmentDto fromAttachment(final Attachment attachment, final FormatType imageFormat) {
-        return attachment == null ? null : new AttachmentDto(attachment.getAttachId(),
-            switch (imageFormat) {
-                case ORIGIN -> attachment.getOriginalImage();
-                case LIST -> attachment.getListImage();
-                case THUMB -> attachment.getThumbImage();
-            },
-            imageFormat == FormatType.ORIGIN ? attachment.getOriginalImageExpansion() : "jpg");
+    private final String contentHash;
+
+    /**
+     * Запрошенный вариант ещё не построен, вместо него отдаётся оригинал.
+     */
+    private final boolean provisional;
+
+    public static AttachmentDto create(final int attachId, final Resource data, final String expansion, final String contentHash, final boolean provisional) {
+        return new AttachmentDto(attachId, data, expansion, contentHash, provisional);
     }
 }
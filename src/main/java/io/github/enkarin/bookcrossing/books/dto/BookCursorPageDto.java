@@ -0,0 +1,28 @@
+package io.github.enkarin.bookcrossing.books.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.List;
+
+@Immutable
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Getter
+@Schema(description = "Страница книг с курсором на следующую страницу")
+public class BookCursorPageDto {
+
+    @Schema(description = "Книги текущей страницы")
+    private final List<BookModelDto> books;
+
+    @Schema(description = "Курсор следующей страницы, отсутствует на последней странице", example = "Yjo0Mg")
+    private final String nextCursor;
+
+    @JsonCreator
+    public static BookCursorPageDto create(final List<BookModelDto> books, final String nextCursor) {
+        return new BookCursorPageDto(books, nextCursor);
+    }
+}
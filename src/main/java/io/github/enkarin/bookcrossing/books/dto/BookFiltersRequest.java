@@ -1,12 +1,15 @@
 package io.github.enkarin.bookcrossing.books.dto;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import io.github.enkarin.bookcrossing.constant.Constant;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import javax.annotation.concurrent.Immutable;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import java.util.List;
 
 @Immutable
@@ -37,9 +40,12 @@ public class BookFiltersRequest {
     private final int year;
 
     @Schema(description = "Номер запрашиваемой страницы", example = "1")
+    @Min(value = 0, message = "3017")
     private final int pageNumber;
 
-    @Schema(description = "Размер запрашиваемой страницы")
+    @Schema(description = "Размер запрашиваемой страницы", example = "10")
+    @Min(value = 1, message = "3016")
+    @Max(value = Constant.MAX_PAGE_SIZE, message = "3016")
     private final int pageSize;
 
     @JsonCreator
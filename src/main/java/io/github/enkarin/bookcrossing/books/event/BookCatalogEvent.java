@@ -0,0 +1,21 @@
+package io.github.enkarin.bookcrossing.books.event;
+
+import io.github.enkarin.bookcrossing.books.model.Book;
+
+/**
+ * Изменение названий и авторов в каталоге книг. Отсутствующее значение передаётся как null.
+ */
+public record BookCatalogEvent(String removedTitle, String removedAuthor, String addedTitle, String addedAuthor) {
+
+    public static BookCatalogEvent added(final Book book) {
+        return new BookCatalogEvent(null, null, book.getTitle(), book.getAuthor());
+    }
+
+    public static BookCatalogEvent removed(final Book book) {
+        return new BookCatalogEvent(book.getTitle(), book.getAuthor(), null, null);
+    }
+
+    public static BookCatalogEvent changed(final String oldTitle, final String oldAuthor, final Book book) {
+        return new BookCatalogEvent(oldTitle, oldAuthor, book.getTitle(), book.getAuthor());
+    }
+}
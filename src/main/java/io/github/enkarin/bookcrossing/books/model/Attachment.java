@@ -4,18 +4,21 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.Type;
 
+import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
-import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 @Getter
@@ -33,24 +36,12 @@ public class Attachment implements Serializable {
     @GeneratedValue
     private int attachId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id")
     private Book book;
 
-    @Lob
-    @Type(type = "org.hibernate.type.BinaryType")
-    @Column(length = 5_242_880, name = "data")
-    private byte[] originalImage;
-
-    @Lob
-    @Type(type = "org.hibernate.type.BinaryType")
-    @Column(length = 1_048_576)
-    private byte[] listImage;
-
-    @Lob
-    @Type(type = "org.hibernate.type.BinaryType")
-    @Column(length = 512_000)
-    private byte[] thumbImage;
+    @OneToMany(mappedBy = "attachment", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<AttachmentVariant> variants = new ArrayList<>();
 
     @Column(name = "expansion")
     private String originalImageExpansion;
@@ -0,0 +1,70 @@
+package io.github.enkarin.bookcrossing.books.model;
+
+import io.github.enkarin.bookcrossing.books.enums.FormatType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.MapsId;
+import javax.persistence.Table;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Один из вариантов изображения вложения (оригинал, для списка, миниатюра).
+ * Каждый вариант хранится отдельной строкой, так что запрос одного размера не читает остальные.
+ */
+@Getter
+@Setter
+@Entity
+@NoArgsConstructor
+@Table(name = "t_attach_variant")
+public class AttachmentVariant implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = -6470117925906036218L;
+
+    @EmbeddedId
+    private AttachmentVariantKey id;
+
+    @MapsId("attachId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "attach_id")
+    private Attachment attachment;
+
+    @Column(name = "blob_key")
+    private String blobKey;
+
+    @Column(name = "expansion")
+    private String expansion;
+
+    public AttachmentVariant(final Attachment attachment, final FormatType format, final String blobKey, final String expansion) {
+        this.id = new AttachmentVariantKey(attachment.getAttachId(), format);
+        this.attachment = attachment;
+        this.blobKey = blobKey;
+        this.expansion = expansion;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final AttachmentVariant that)) {
+            return false;
+        }
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.enkarin.bookcrossing.books.model;
+
+import io.github.enkarin.bookcrossing.books.enums.FormatType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttachmentVariantKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2183440795328169127L;
+
+    @Column(name = "attach_id")
+    private int attachId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format")
+    private FormatType format;
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final AttachmentVariantKey that)) {
+            return false;
+        }
+        return attachId == that.attachId && format == that.format;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(attachId, format);
+    }
+}
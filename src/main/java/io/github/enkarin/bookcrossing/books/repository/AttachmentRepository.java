@@ -1,7 +1,17 @@
 package io.github.enkarin.bookcrossing.books.repository;
 
+import io.github.enkarin.bookcrossing.books.enums.FormatType;
 import io.github.enkarin.bookcrossing.books.model.Attachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
 
 public interface AttachmentRepository extends JpaRepository<Attachment, Integer> {
+
+    @Query("SELECT v.blobKey AS blobKey, v.expansion AS expansion FROM AttachmentVariant v WHERE v.id.attachId = ?1 AND v.id.format = ?2")
+    Optional<AttachmentVariantView> findVariant(int attachId, FormatType format);
+
+    @Query("SELECT count(v) > 0 FROM AttachmentVariant v WHERE v.blobKey = ?1")
+    boolean isBlobReferenced(String key);
 }
@@ -0,0 +1,8 @@
+package io.github.enkarin.bookcrossing.books.repository;
+
+public interface AttachmentVariantView {
+
+    String getBlobKey();
+
+    String getExpansion();
+}
@@ -0,0 +1,8 @@
+package io.github.enkarin.bookcrossing.books.repository;
+
+public interface BookNamesView {
+
+    String getTitle();
+
+    String getAuthor();
+}
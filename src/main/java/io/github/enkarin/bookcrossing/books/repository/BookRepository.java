@@ -8,18 +8,27 @@ import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookRepository extends JpaRepository<Book, Integer> {
-
-    @Query("FROM Book b WHERE lower(b.title) = lower(?1) OR lower(b.author) = lower(?1)")
-    List<Book> findBooksByTitleOrAuthorIgnoreCase(String title);
+public interface BookRepository extends JpaRepository<Book, Integer>, BookSliceRepository {
 
     Optional<Book> findBooksByOwnerLoginAndBookId(String login, int id);
 
     List<Book> findBooksByOwnerUserId(int userId, Pageable pageable);
 
-    @Query(value = "SELECT * FROM bookcrossing.t_book WHERE lower(title) LIKE lower(concat('%', ?1,'%')) LIMIT 5", nativeQuery = true)
-    List<Book> findBooksByPartOfNameOrAuthor(String partName);
-
-    @Query(value = "SELECT * FROM bookcrossing.t_book WHERE author IS NOT NULL AND lower(author) LIKE lower(concat('%', ?1,'%')) LIMIT 5", nativeQuery = true)
-    List<Book> findBooksByPartOfAuthor(String partName);
+    @Query("SELECT b.title AS title, b.author AS author FROM Book b")
+    List<BookNamesView> findAllNames();
+
+    @Query(value = """
+        SELECT DISTINCT author FROM bookcrossing.t_book
+        WHERE author IS NOT NULL AND (lower(title) LIKE lower(concat('%', ?1, '%')) OR lower(author) LIKE lower(concat('%', ?1, '%')))
+        LIMIT ?2""", nativeQuery = true)
+    List<String> findAuthorsByPartOfTitleOrAuthor(String part, int limit);
+
+    @Query(value = """
+        SELECT b.* FROM bookcrossing.t_book b
+        JOIN bookcrossing.t_user u ON u.user_id = b.owner_book
+        WHERE u.account_non_locked
+          AND b.search_vector @@ (websearch_to_tsquery('russian', ?1) || websearch_to_tsquery('english', ?1))
+        ORDER BY ts_rank(b.search_vector, websearch_to_tsquery('russian', ?1) || websearch_to_tsquery('english', ?1)) DESC, b.book_id""",
+        nativeQuery = true)
+    List<Book> searchRanked(String query, Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package io.github.enkarin.bookcrossing.books.repository;
+
+import io.github.enkarin.bookcrossing.books.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BookSliceRepository {
+
+    /**
+     * Возвращает одну страницу книг без дополнительного запроса на подсчёт общего количества.
+     */
+    List<Book> findSlice(Specification<Book> specification, Pageable pageable);
+}
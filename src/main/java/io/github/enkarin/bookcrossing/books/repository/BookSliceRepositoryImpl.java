@@ -0,0 +1,35 @@
+package io.github.enkarin.bookcrossing.books.repository;
+
+import io.github.enkarin.bookcrossing.books.model.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+@RequiredArgsConstructor
+class BookSliceRepositoryImpl implements BookSliceRepository {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Book> findSlice(final Specification<Book> specification, final Pageable pageable) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        final Root<Book> root = query.from(Book.class);
+        root.fetch("owner", JoinType.LEFT);
+        root.fetch("genre");
+        query.select(root)
+            .where(specification.toPredicate(root, query, cb))
+            .orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.enkarin.bookcrossing.books.repository;
+
+import io.github.enkarin.bookcrossing.books.dto.BookFiltersRequest;
+import io.github.enkarin.bookcrossing.books.model.Book;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.CollectionUtils;
+
+import java.util.List;
+
+/**
+ * Предикаты поиска книг, вычисляемые на стороне базы данных.
+ * Сравнения строк регистронезависимые и опираются на функциональные индексы по lower(...).
+ */
+@UtilityClass
+public class BookSpecifications {
+    private static final String OWNER = "owner";
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+
+    public static Specification<Book> ownerNonLocked() {
+        return (root, query, cb) -> cb.isTrue(root.get(OWNER).get("accountNonLocked"));
+    }
+
+    public static Specification<Book> bookIdGreaterThan(final int bookId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("bookId"), bookId);
+    }
+
+    public static Specification<Book> titleOrAuthorEqualsIgnoreCase(final String value) {
+        return (root, query, cb) -> cb.or(
+            cb.equal(cb.lower(root.get(TITLE)), cb.lower(cb.literal(value))),
+            cb.equal(cb.lower(root.get(AUTHOR)), cb.lower(cb.literal(value))));
+    }
+
+    public static Specification<Book> fromFilters(final BookFiltersRequest request) {
+        Specification<Book> specification = ownerNonLocked();
+        if (StringUtils.isNotEmpty(request.getAuthorOrTitle())) {
+            specification = specification.and(titleOrAuthorEqualsIgnoreCase(request.getAuthorOrTitle()));
+        }
+        if (!CollectionUtils.isEmpty(request.getGenre())) {
+            specification = specification.and(genreIn(request.getGenre()));
+        }
+        if (request.getAuthor() != null) {
+            specification = specification.and(equalsIgnoreCase(AUTHOR, request.getAuthor()));
+        }
+        if (request.getPublishingHouse() != null) {
+            specification = specification.and(equalsIgnoreCase("publishingHouse", request.getPublishingHouse()));
+        }
+        if (request.getYear() != 0) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("year"), request.getYear()));
+        }
+        if (request.getTitle() != null) {
+            specification = specification.and(equalsIgnoreCase(TITLE, request.getTitle()));
+        }
+        if (request.getCity() != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(cb.lower(root.get(OWNER).get("city")), cb.lower(cb.literal(request.getCity()))));
+        }
+        return specification;
+    }
+
+    private static Specification<Book> genreIn(final List<Integer> genres) {
+        return (root, query, cb) -> root.get("genre").get("id").in(genres);
+    }
+
+    private static Specification<Book> equalsIgnoreCase(final String attribute, final String value) {
+        return (root, query, cb) -> cb.equal(cb.lower(root.get(attribute)), cb.lower(cb.literal(value)));
+    }
+}
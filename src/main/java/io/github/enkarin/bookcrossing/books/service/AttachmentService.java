@@ -5,24 +5,28 @@ import io.github.enkarin.bookcrossing.books.dto.AttachmentMultipartDto;
 import io.github.enkarin.bookcrossing.books.enums.FormatType;
 import io.github.enkarin.bookcrossing.books.exceptions.NoAccessToAttachmentException;
 import io.github.enkarin.bookcrossing.books.model.Attachment;
+import io.github.enkarin.bookcrossing.books.model.AttachmentVariant;
 import io.github.enkarin.bookcrossing.books.model.Book;
 import io.github.enkarin.bookcrossing.books.repository.AttachmentRepository;
+import io.github.enkarin.bookcrossing.books.repository.AttachmentVariantView;
 import io.github.enkarin.bookcrossing.books.repository.BookRepository;
 import io.github.enkarin.bookcrossing.constant.ErrorMessage;
 import io.github.enkarin.bookcrossing.exception.AttachmentNotFoundException;
 import io.github.enkarin.bookcrossing.exception.BookNotFoundException;
 import io.github.enkarin.bookcrossing.exception.UnsupportedImageTypeException;
+import io.github.enkarin.bookcrossing.image.service.ImageJobService;
+import io.github.enkarin.bookcrossing.storage.BlobStorage;
+import io.github.enkarin.bookcrossing.utils.ImageFormats;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.Locale;
+import java.io.InputStream;
+import java.util.Optional;
 
-import static io.github.enkarin.bookcrossing.utils.ImageCompressor.compressImage;
 import static java.util.Objects.isNull;
 
 @RequiredArgsConstructor
@@ -31,9 +35,19 @@ import static java.util.Objects.isNull;
 public class AttachmentService {
     private final AttachmentRepository attachRepository;
     private final BookRepository bookRepository;
+    private final BlobStorage blobStorage;
+    private final ImageJobService imageJobService;
 
     public AttachmentDto findAttachmentData(final int id, final FormatType imageFormat) {
-        return AttachmentDto.fromAttachment(attachRepository.findById(id).orElseThrow(AttachmentNotFoundException::new), imageFormat);
+        final Optional<AttachmentVariantView> requested = attachRepository.findVariant(id, imageFormat);
+        final AttachmentVariantView variant = requested
+            .or(() -> attachRepository.findVariant(id, FormatType.ORIGIN))
+            .orElseThrow(AttachmentNotFoundException::new);
+        final Resource data = blobStorage.load(variant.getBlobKey());
+        if (!data.exists()) {
+            throw new AttachmentNotFoundException();
+        }
+        return AttachmentDto.create(id, data, variant.getExpansion(), variant.getBlobKey(), requested.isEmpty());
     }
 
     @Transactional
@@ -52,29 +66,28 @@ public class AttachmentService {
     }
 
     private Attachment saveAttachment(final Book book, final AttachmentMultipartDto attachmentMultipartDto) {
-        final String fileName = attachmentMultipartDto.getFile().getOriginalFilename();
-        if (fileName == null || fileName.isBlank()) {
-            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_3001.getCode());
-        } else {
-            final String expansion = fileName.substring(fileName.indexOf('.') + 1).toLowerCase(Locale.ROOT);
-            if ("jpeg".equals(expansion) || "jpg".equals(expansion) || "png".equals(expansion) || "bmp".equals(expansion)) {
-                return createOrUpdateAttachment(book, attachmentMultipartDto.getFile(), expansion);
-            } else {
-                throw new UnsupportedImageTypeException(ErrorMessage.ERROR_3002.getCode());
-            }
-        }
+        final String expansion = ImageFormats.requireSupportedExpansion(attachmentMultipartDto.getFile().getOriginalFilename());
+        return createOrUpdateAttachment(book, attachmentMultipartDto.getFile(), expansion);
     }
 
     private Attachment createOrUpdateAttachment(final Book book, final MultipartFile multipartFile, final String expansion) {
         try {
+            try (InputStream content = multipartFile.getInputStream()) {
+                if (!ImageFormats.isReadableImage(content)) {
+                    throw new UnsupportedImageTypeException(ErrorMessage.ERROR_2008.getCode());
+                }
+            }
+            final String originalKey;
+            try (InputStream original = multipartFile.getInputStream()) {
+                originalKey = blobStorage.store(original);
+            }
             final Attachment attachment = new Attachment();
             attachment.setBook(book);
             attachment.setOriginalImageExpansion(expansion);
-            final BufferedImage image = ImageIO.read(multipartFile.getInputStream());
-            attachment.setOriginalImage(multipartFile.getBytes());
-            attachment.setListImage(compressImage(image, 200, 300));
-            attachment.setThumbImage(compressImage(image, 70, 70));
-            return attachRepository.save(attachment);
+            attachment.getVariants().add(new AttachmentVariant(attachment, FormatType.ORIGIN, originalKey, expansion));
+            final Attachment saved = attachRepository.save(attachment);
+            imageJobService.enqueueAttachment(saved, originalKey);
+            return saved;
         } catch (IOException e) {
             throw new UnsupportedImageTypeException(ErrorMessage.ERROR_2008.getCode(), e);
         }
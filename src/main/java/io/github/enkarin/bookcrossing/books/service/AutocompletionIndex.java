@@ -0,0 +1,61 @@
+package io.github.enkarin.bookcrossing.books.service;
+
+import io.github.enkarin.bookcrossing.books.event.BookCatalogEvent;
+import io.github.enkarin.bookcrossing.books.repository.BookRepository;
+import io.github.enkarin.bookcrossing.books.repository.BookNamesView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Индекс названий книг и имён авторов для автодополнения, хранящийся в памяти приложения.
+ * Строится при старте из t_book, поддерживается в актуальном состоянии событиями {@link BookCatalogEvent}
+ * и периодически перестраивается целиком, чтобы устранить возможное расхождение с базой данных.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutocompletionIndex {
+    private final BookRepository bookRepository;
+    private final AtomicReference<Indexes> indexes = new AtomicReference<>(new Indexes(new SuggestionIndex(), new SuggestionIndex()));
+
+    public List<String> findTitles(final String part, final int limit) {
+        return indexes.get().titles().search(part, limit);
+    }
+
+    public List<String> findAuthors(final String part, final int limit) {
+        return indexes.get().authors().search(part, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${autocompletion.rebuild-interval}", initialDelayString = "${autocompletion.rebuild-interval}")
+    public void rebuild() {
+        final Indexes rebuilt = new Indexes(new SuggestionIndex(), new SuggestionIndex());
+        final List<BookNamesView> names = bookRepository.findAllNames();
+        names.forEach(book -> {
+            rebuilt.titles().add(book.getTitle());
+            rebuilt.authors().add(book.getAuthor());
+        });
+        indexes.set(rebuilt);
+        log.info("Autocompletion index rebuilt from {} books", names.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(final BookCatalogEvent event) {
+        final Indexes current = indexes.get();
+        current.titles().remove(event.removedTitle());
+        current.authors().remove(event.removedAuthor());
+        current.titles().add(event.addedTitle());
+        current.authors().add(event.addedAuthor());
+    }
+
+    private record Indexes(SuggestionIndex titles, SuggestionIndex authors) {
+    }
+}
@@ -1,38 +1,34 @@
 package io.github.enkarin.bookcrossing.books.service;
 
-import io.github.enkarin.bookcrossing.books.model.Book;
 import io.github.enkarin.bookcrossing.books.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class AutocompletionService {
+    private static final int SUGGESTIONS_LIMIT = 5;
+    private static final int AUTHORS_LIMIT = 10;
+
+    private final AutocompletionIndex autocompletionIndex;
     private final BookRepository bookRepository;
 
     public List<String> autocompleteBookNameOrAuthor(final String partName) {
-        final List<String> result = bookRepository.findBooksByPartOfNameOrAuthor(partName).stream()
-            .map(Book::getTitle)
-            .collect(Collectors.toList());
-        result.addAll(bookRepository.findBooksByPartOfAuthor(partName).stream()
-            .map(Book::getAuthor)
-            .toList());
-        return result.subList(0, Math.min(result.size(), 5));
+        final List<String> result = new ArrayList<>(autocompletionIndex.findTitles(partName, SUGGESTIONS_LIMIT));
+        if (result.size() < SUGGESTIONS_LIMIT) {
+            result.addAll(autocompletionIndex.findAuthors(partName, SUGGESTIONS_LIMIT - result.size()));
+        }
+        return result;
     }
 
+    @Transactional(readOnly = true)
     public Set<String> findAuthorNamesByTitleOrAuthor(final String partName) {
-        final Set<String> result = bookRepository.findBooksByPartOfNameOrAuthor(partName).stream()
-            .map(Book::getAuthor)
-            .collect(Collectors.toSet());
-        result.addAll(bookRepository.findBooksByPartOfAuthor(partName).stream()
-            .map(Book::getAuthor)
-            .toList());
-        return result;
+        return new LinkedHashSet<>(bookRepository.findAuthorsByPartOfTitleOrAuthor(partName, AUTHORS_LIMIT));
     }
 }
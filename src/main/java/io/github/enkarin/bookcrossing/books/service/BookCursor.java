@@ -0,0 +1,31 @@
+package io.github.enkarin.bookcrossing.books.service;
+
+import io.github.enkarin.bookcrossing.exception.InvalidCursorException;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Непрозрачный для клиента курсор постраничной выдачи книг. Хранит идентификатор последней отданной книги.
+ */
+@UtilityClass
+class BookCursor {
+    private static final String PREFIX = "b:";
+
+    static String encode(final int lastBookId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastBookId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static int decode(final String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new InvalidCursorException();
+            }
+            return Integer.parseInt(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(e);
+        }
+    }
+}
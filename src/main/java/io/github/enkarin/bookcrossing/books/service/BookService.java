@@ -1,12 +1,15 @@
 package io.github.enkarin.bookcrossing.books.service;
 
+import io.github.enkarin.bookcrossing.books.dto.BookCursorPageDto;
 import io.github.enkarin.bookcrossing.books.dto.BookDto;
 import io.github.enkarin.bookcrossing.books.dto.BookFiltersRequest;
 import io.github.enkarin.bookcrossing.books.dto.BookModelDto;
 import io.github.enkarin.bookcrossing.books.dto.ChangeBookDto;
 import io.github.enkarin.bookcrossing.books.enums.Status;
+import io.github.enkarin.bookcrossing.books.event.BookCatalogEvent;
 import io.github.enkarin.bookcrossing.books.model.Book;
 import io.github.enkarin.bookcrossing.books.repository.BookRepository;
+import io.github.enkarin.bookcrossing.books.repository.BookSpecifications;
 import io.github.enkarin.bookcrossing.books.repository.GenreRepository;
 import io.github.enkarin.bookcrossing.exception.BookNotFoundException;
 import io.github.enkarin.bookcrossing.exception.GenreNotFoundException;
@@ -14,32 +17,38 @@ import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
 import io.github.enkarin.bookcrossing.user.model.User;
 import io.github.enkarin.bookcrossing.user.repository.UserRepository;
-import org.apache.commons.lang3.StringUtils;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 
 import java.util.List;
-import java.util.stream.Stream;
 
 import static java.util.Objects.nonNull;
 
 @Service
 @Transactional(readOnly = true)
 public class BookService {
+    private static final Sort BY_ID = Sort.by("bookId");
+
     private final GenreRepository genreRepository;
     private final UserRepository userRepository;
     private final BookRepository bookRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BookService(final UserRepository usr, final BookRepository bkr, final ModelMapper mdm, final GenreRepository genreRepository) {
+    public BookService(final UserRepository usr, final BookRepository bkr, final ModelMapper mdm, final GenreRepository genreRepository,
+                       final ApplicationEventPublisher eventPublisher) {
         userRepository = usr;
         bookRepository = bkr;
         modelMapper = mdm;
         modelMapper.createTypeMap(BookDto.class, Book.class).addMappings(ms -> ms.skip(Book::setOwner));
         this.genreRepository = genreRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -49,7 +58,9 @@ public class BookService {
         book.setOwner(user);
         book.setGenre(genreRepository.findById(bookDTO.getGenre()).orElseThrow(GenreNotFoundException::new));
         book.setStatus(bookDTO.getStatusId() == 0 ? Status.EXCHANGES : Status.getById(bookDTO.getStatusId()));
-        return BookModelDto.fromBook(bookRepository.save(book));
+        final Book savedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookCatalogEvent.added(savedBook));
+        return BookModelDto.fromBook(savedBook);
     }
 
     public List<BookModelDto> findBookForOwner(final String login, final int pageNumber, final int pageSize) {
@@ -72,68 +83,38 @@ public class BookService {
     }
 
     public List<BookModelDto> filter(final BookFiltersRequest request) {
-        List<Book> books = StringUtils.isEmpty(request.getAuthorOrTitle()) ?
-            bookRepository.findAll() :
-            bookRepository.findBooksByTitleOrAuthorIgnoreCase(request.getAuthorOrTitle());
-        if (!CollectionUtils.isEmpty(request.getGenre())) {
-            books = books.stream()
-                .filter(book -> request.getGenre().contains(book.getGenre().getId()))
-                .toList();
-        }
-        if (request.getAuthor() != null) {
-            books = books.stream()
-                .filter(book -> book.getAuthor() != null)
-                .filter(book -> book.getAuthor().equalsIgnoreCase(request.getAuthor()))
-                .toList();
-        }
-        if (request.getPublishingHouse() != null) {
-            books = books.stream()
-                .filter(book -> book.getPublishingHouse() != null)
-                .filter(book -> book.getPublishingHouse().equalsIgnoreCase(request.getPublishingHouse()))
-                .toList();
-        }
-        if (request.getYear() != 0) {
-            books = books.stream()
-                .filter(book -> book.getYear() == request.getYear())
-                .toList();
-        }
-        if (request.getTitle() != null) {
-            books = books.stream()
-                .filter(book -> book.getTitle().equalsIgnoreCase(request.getTitle()))
-                .toList();
-        }
-        if (request.getCity() != null) {
-            books = books.stream()
-                .filter(book -> book.getOwner().getCity() != null)
-                .filter(book -> book.getOwner().getCity().equalsIgnoreCase(request.getCity()))
-                .toList();
-        }
-        return filterBookFromNonLockedOwner(books)
-            .skip((long) request.getPageSize() * request.getPageNumber())
-            .limit(request.getPageSize())
-            .map(BookModelDto::fromBook)
-            .toList();
+        return findPage(BookSpecifications.fromFilters(request), request.getPageNumber(), request.getPageSize());
+    }
+
+    public BookCursorPageDto filterAfter(final BookFiltersRequest request, final String cursor) {
+        return findPageAfter(BookSpecifications.fromFilters(request), cursor, request.getPageSize());
     }
 
     public List<BookModelDto> findAll(final int pageNumber, final int pageSize) {
-        return filterBookFromNonLockedOwner(bookRepository.findAll())
-            .skip((long) pageNumber * pageSize)
-            .limit(pageSize)
-            .map(BookModelDto::fromBook)
-            .toList();
+        return findPage(BookSpecifications.ownerNonLocked(), pageNumber, pageSize);
+    }
+
+    public BookCursorPageDto findAllAfter(final String cursor, final int pageSize) {
+        return findPageAfter(BookSpecifications.ownerNonLocked(), cursor, pageSize);
     }
 
     @Transactional
     public void deleteBook(final String login, final int bookId) {
-        bookRepository.findBooksByOwnerLoginAndBookId(login, bookId).ifPresentOrElse(bookRepository::delete, () -> {
-            throw new BookNotFoundException();
-        });
+        final Book book = bookRepository.findBooksByOwnerLoginAndBookId(login, bookId).orElseThrow(BookNotFoundException::new);
+        bookRepository.delete(book);
+        eventPublisher.publishEvent(BookCatalogEvent.removed(book));
     }
 
     public List<BookModelDto> findByTitleOrAuthor(final String field, final int pageNumber, final int pageSize) {
-        return filterBookFromNonLockedOwner(bookRepository.findBooksByTitleOrAuthorIgnoreCase(field))
-            .skip((long) pageNumber * pageSize)
-            .limit(pageSize)
+        return findPage(BookSpecifications.ownerNonLocked().and(BookSpecifications.titleOrAuthorEqualsIgnoreCase(field)), pageNumber, pageSize);
+    }
+
+    public BookCursorPageDto findByTitleOrAuthorAfter(final String field, final String cursor, final int pageSize) {
+        return findPageAfter(BookSpecifications.ownerNonLocked().and(BookSpecifications.titleOrAuthorEqualsIgnoreCase(field)), cursor, pageSize);
+    }
+
+    public List<BookModelDto> search(final String query, final int pageNumber, final int pageSize) {
+        return bookRepository.searchRanked(query, PageRequest.of(pageNumber, pageSize)).stream()
             .map(BookModelDto::fromBook)
             .toList();
     }
@@ -145,6 +126,8 @@ public class BookService {
     @Transactional
     public BookModelDto changeBook(final String login, final ChangeBookDto bookDto) {
         final Book book = bookRepository.findBooksByOwnerLoginAndBookId(login, bookDto.getBookId()).orElseThrow(BookNotFoundException::new);
+        final String oldTitle = book.getTitle();
+        final String oldAuthor = book.getAuthor();
         if (nonNull(bookDto.getTitle()) && !bookDto.getTitle().isBlank()) {
             book.setTitle(bookDto.getTitle());
         }
@@ -164,10 +147,23 @@ public class BookService {
         if (nonNull(bookDto.getStatusId())) {
             book.setStatus(Status.getById(bookDto.getStatusId()));
         }
+        eventPublisher.publishEvent(BookCatalogEvent.changed(oldTitle, oldAuthor, book));
         return BookModelDto.fromBook(book);
     }
 
-    private Stream<Book> filterBookFromNonLockedOwner(final List<Book> books) {
-        return books.stream().filter(b -> b.getOwner().isAccountNonLocked());
+    private List<BookModelDto> findPage(final Specification<Book> specification, final int pageNumber, final int pageSize) {
+        return bookRepository.findSlice(specification, PageRequest.of(pageNumber, pageSize, BY_ID)).stream()
+            .map(BookModelDto::fromBook)
+            .toList();
+    }
+
+    private BookCursorPageDto findPageAfter(final Specification<Book> specification, final String cursor, final int pageSize) {
+        final Specification<Book> seek = cursor == null ? specification : specification.and(BookSpecifications.bookIdGreaterThan(BookCursor.decode(cursor)));
+        final List<Book> books = bookRepository.findSlice(seek, PageRequest.of(0, pageSize + 1, BY_ID));
+        if (books.size() <= pageSize) {
+            return BookCursorPageDto.create(books.stream().map(BookModelDto::fromBook).toList(), null);
+        }
+        final List<Book> page = books.subList(0, pageSize);
+        return BookCursorPageDto.create(page.stream().map(BookModelDto::fromBook).toList(), BookCursor.encode(page.get(pageSize - 1).getBookId()));
     }
 }
@@ -0,0 +1,104 @@
+package io.github.enkarin.bookcrossing.books.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Потокобезопасный индекс строк для поиска по подстроке.
+ * Каждая строка хранится в виде отсортированного набора своих суффиксов, обрезанных до {@link #MAX_KEY_LENGTH} символов,
+ * поэтому поиск сводится к обходу диапазона ключей, начинающихся с запроса. Вес строки равен числу её вхождений в каталог.
+ */
+final class SuggestionIndex {
+    private static final int MAX_KEY_LENGTH = 24;
+    private static final int MAX_CANDIDATES = 256;
+    private static final Comparator<Term> BY_WEIGHT = Comparator.<Term>comparingInt(term -> term.weight().get()).reversed()
+        .thenComparing(Term::display);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, Term> terms = new ConcurrentHashMap<>();
+    private final NavigableSet<Key> keys = new ConcurrentSkipListSet<>();
+
+    void add(final String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        terms.compute(normalize(value), (normalized, term) -> {
+            if (term == null) {
+                final Term created = new Term(sequence.incrementAndGet(), value, normalized, new AtomicInteger(1));
+                keys.addAll(keysOf(created));
+                return created;
+            }
+            term.weight().incrementAndGet();
+            return term;
+        });
+    }
+
+    void remove(final String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        terms.computeIfPresent(normalize(value), (normalized, term) -> {
+            if (term.weight().decrementAndGet() > 0) {
+                return term;
+            }
+            keys.removeAll(keysOf(term));
+            return null;
+        });
+    }
+
+    List<String> search(final String part, final int limit) {
+        final String query = normalize(part);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        final String probe = query.length() > MAX_KEY_LENGTH ? query.substring(0, MAX_KEY_LENGTH) : query;
+        final Set<Term> found = new LinkedHashSet<>();
+        for (final Key key : keys.tailSet(new Key(probe, Long.MIN_VALUE, null))) {
+            if (!key.text().startsWith(probe) || found.size() >= MAX_CANDIDATES) {
+                break;
+            }
+            if (key.term().weight().get() > 0 && key.term().normalized().contains(query)) {
+                found.add(key.term());
+            }
+        }
+        return found.stream()
+            .sorted(BY_WEIGHT)
+            .limit(limit)
+            .map(Term::display)
+            .toList();
+    }
+
+    private static List<Key> keysOf(final Term term) {
+        final String normalized = term.normalized();
+        final List<Key> result = new ArrayList<>(normalized.length());
+        for (int i = 0; i < normalized.length(); i++) {
+            result.add(new Key(normalized.substring(i, Math.min(normalized.length(), i + MAX_KEY_LENGTH)), term.id(), term));
+        }
+        return result;
+    }
+
+    private static String normalize(final String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Term(long id, String display, String normalized, AtomicInteger weight) {
+    }
+
+    private record Key(String text, long termId, Term term) implements Comparable<Key> {
+        @Override
+        public int compareTo(final Key other) {
+            final int byText = text.compareTo(other.text);
+            return byText == 0 ? Long.compare(termId, other.termId) : byText;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.enkarin.bookcrossing.chat.controllers;
+
+import io.github.enkarin.bookcrossing.chat.service.ChatStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.security.Principal;
+
+@Tag(
+    name = "События чатов",
+    description = "Позволяет получать новые, изменённые и удалённые сообщения без опроса сервера"
+)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/user/correspondence/events")
+public class ChatEventController {
+    private final ChatStreamService chatStreamService;
+
+    @Operation(
+        summary = "Подписка на события чатов",
+        description = "Открывает поток Server-Sent Events по всем чатам пользователя. Имя события: SENT, EDITED или DELETED, данные: сообщение"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Поток событий открыт",
+            content = {@Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)})
+    })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(final Principal principal) {
+        return chatStreamService.open(principal.getName());
+    }
+}
@@ -116,19 +116,23 @@ public class CorrespondenceController {
     @GetMapping
     @Parameters({
         @Parameter(in = ParameterIn.HEADER, name = FIRST_USER_ID, description = "Идентификатор первого пользователя"),
-        @Parameter(in = ParameterIn.HEADER, name = SECOND_USER_ID, description = "Идентификатор второго пользователя")
+        @Parameter(in = ParameterIn.HEADER, name = SECOND_USER_ID, description = "Идентификатор второго пользователя"),
+        @Parameter(in = ParameterIn.QUERY, name = "beforeMessageId",
+            description = "Идентификатор последнего полученного сообщения; возвращаются только более ранние сообщения")
     })
     public ResponseEntity<List<MessageDto>> getCorrespondence(@RequestHeader(FIRST_USER_ID) @NotBlank(message = "3014") final String firstUserId,
                                                               @RequestHeader(SECOND_USER_ID) @NotBlank(message = "3015") final String secondUserId,
-                                                              @RequestParam final int pageNumber,
+                                                              @RequestParam(required = false) final Long beforeMessageId,
+                                                              @RequestParam(defaultValue = "0") final int pageNumber,
                                                               @RequestParam final int pageSize,
                                                               @RequestParam final int zone,
                                                               final Principal principal) {
-        return ResponseEntity.ok(correspondenceService.getChat(Integer.parseInt(firstUserId), Integer.parseInt(secondUserId), pageNumber, pageSize, zone, principal.getName()));
+        return ResponseEntity.ok(correspondenceService.getChat(Integer.parseInt(firstUserId), Integer.parseInt(secondUserId), beforeMessageId, pageNumber, pageSize,
+            zone, principal.getName()));
     }
 
     @Operation(summary = "Поиск всех чатов пользователя", description = "Позволяет получить краткую информацию о всех чатах пользователя")
-    @ApiResponse(responseCode = "200", description = "Возвращает список чатов",
+    @ApiResponse(responseCode = "200", description = "Возвращает список чатов, начиная с последних по времени сообщения",
         content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = ChatInfo.class)))})
     @GetMapping("/all")
     public ChatInfo[] findAllChats(@RequestParam final int pageNumber, @RequestParam final int pageSize, final Principal principal) {
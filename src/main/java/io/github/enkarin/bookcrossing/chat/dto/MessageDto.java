@@ -1,5 +1,6 @@
 package io.github.enkarin.bookcrossing.chat.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import io.github.enkarin.bookcrossing.chat.model.Message;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -31,12 +32,17 @@ public class MessageDto {
     public static MessageDto fromMessageAndZone(final Message message, final int zone) {
         return new MessageDto(message.getMessageId(), message.getSender().getUserId(), message.getText(),
             LocalDateTime.ofEpochSecond(message.getDepartureDate(),
-                0, ZoneOffset.ofHours(zone)).toString(), message.isDeclaim());
+                0, ZoneOffset.ofHours(zone)).toString(), message.getCorrespondence().isReadByRecipient(message));
     }
 
     public static MessageDto fromMessage(final Message message) {
         return new MessageDto(message.getMessageId(), message.getSender().getUserId(), message.getText(),
             LocalDateTime.ofEpochSecond(message.getDepartureDate(),
-                0, ZoneOffset.ofHours(0)).toString(), message.isDeclaim());
+                0, ZoneOffset.ofHours(0)).toString(), message.getCorrespondence().isReadByRecipient(message));
+    }
+
+    @JsonCreator
+    public static MessageDto create(final long messageId, final int sender, final String text, final String departureDate, final boolean declaim) {
+        return new MessageDto(messageId, sender, text, departureDate, declaim);
     }
 }
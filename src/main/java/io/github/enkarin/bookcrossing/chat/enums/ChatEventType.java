@@ -0,0 +1,7 @@
+package io.github.enkarin.bookcrossing.chat.enums;
+
+public enum ChatEventType {
+    SENT,
+    EDITED,
+    DELETED
+}
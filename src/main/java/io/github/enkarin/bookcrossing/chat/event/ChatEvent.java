@@ -0,0 +1,17 @@
+package io.github.enkarin.bookcrossing.chat.event;
+
+import io.github.enkarin.bookcrossing.chat.dto.MessageDto;
+import io.github.enkarin.bookcrossing.chat.enums.ChatEventType;
+import io.github.enkarin.bookcrossing.chat.model.Message;
+import io.github.enkarin.bookcrossing.chat.model.UsersCorrKey;
+
+/**
+ * Изменение сообщения в чате, доставляемое обоим участникам чата.
+ */
+public record ChatEvent(ChatEventType type, int firstUserId, int secondUserId, MessageDto message) {
+
+    public static ChatEvent create(final ChatEventType type, final Message message, final MessageDto messageDto) {
+        final UsersCorrKey usersCorrKey = message.getCorrespondence().getUsersCorrKey();
+        return new ChatEvent(type, usersCorrKey.getFirstUser().getUserId(), usersCorrKey.getSecondUser().getUserId(), messageDto);
+    }
+}
@@ -22,6 +22,25 @@ public class Correspondence {
     @OneToMany(mappedBy = "correspondence", orphanRemoval = true)
     private List<Message> message;
 
+    private long firstUserReadDate;
+
+    private long firstUserReadMessageId;
+
+    private long secondUserReadDate;
+
+    private long secondUserReadMessageId;
+
+    /**
+     * Проверяет, прочитал ли сообщение его получатель, то есть участник чата, не являющийся отправителем.
+     * Сообщение прочитано, если оно не новее последнего прочитанного получателем сообщения.
+     */
+    public boolean isReadByRecipient(final Message message) {
+        if (usersCorrKey.getFirstUser().equals(message.getSender())) {
+            return isNotAfter(message, secondUserReadDate, secondUserReadMessageId);
+        }
+        return isNotAfter(message, firstUserReadDate, firstUserReadMessageId);
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
@@ -38,4 +57,8 @@ public class Correspondence {
     public int hashCode() {
         return getClass().hashCode();
     }
+
+    private static boolean isNotAfter(final Message message, final long readDate, final long readMessageId) {
+        return message.getDepartureDate() < readDate || message.getDepartureDate() == readDate && message.getMessageId() <= readMessageId;
+    }
 }
@@ -35,8 +35,6 @@ public class Message {
 
     private boolean shownSecondUser;
 
-    private boolean declaim;
-
     private boolean alertSent;
 
     @ManyToOne
@@ -0,0 +1,14 @@
+package io.github.enkarin.bookcrossing.chat.repository;
+
+public interface ChatInfoView {
+
+    String getInterlocutorName();
+
+    String getMessage();
+
+    Integer getLastMessageSenderId();
+
+    int getInterlocutorId();
+
+    int getUnreadQuantity();
+}
@@ -2,9 +2,8 @@ package io.github.enkarin.bookcrossing.chat.repository;
 
 import io.github.enkarin.bookcrossing.chat.model.Correspondence;
 import io.github.enkarin.bookcrossing.chat.model.UsersCorrKey;
-import io.github.enkarin.bookcrossing.user.model.User;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,11 +11,65 @@ import java.util.List;
 import java.util.Optional;
 
 public interface CorrespondenceRepository extends JpaRepository<Correspondence, UsersCorrKey> {
-    @Query("FROM Correspondence c WHERE c.usersCorrKey.firstUser = ?1 OR c.usersCorrKey.secondUser = ?1")
-    List<Correspondence> findAllByUser(User user, Pageable pageable);
-
     @Override
     @Query("FROM Correspondence c WHERE c.usersCorrKey.firstUser = :#{#usersCorrKey.firstUser} AND c.usersCorrKey.secondUser = :#{#usersCorrKey.secondUser} " +
         "OR c.usersCorrKey.firstUser = :#{#usersCorrKey.secondUser} AND c.usersCorrKey.secondUser = :#{#usersCorrKey.firstUser}")
     Optional<Correspondence> findById(@Param("usersCorrKey") UsersCorrKey usersCorrKey);
+
+    /**
+     * Страница чатов пользователя userId от недавно активных к давно неактивным, чаты без сообщений идут последними.
+     * Для каждого чата возвращаются собеседник, последнее сообщение и количество непрочитанных сообщений.
+     */
+    @Query(value = """
+        SELECT u.name AS interlocutorName, p.text AS message, p.sender_user_id AS lastMessageSenderId, u.user_id AS interlocutorId,
+               (SELECT count(*) FROM bookcrossing.t_messages m
+                WHERE m.correspondence_first_user_id = p.first_user_id AND m.correspondence_second_user_id = p.second_user_id
+                  AND m.sender_user_id = u.user_id AND (m.departure_date, m.message_id) > (p.read_date, p.read_message_id)) AS unreadQuantity
+        FROM (SELECT c.first_user_id, c.second_user_id, l.text, l.sender_user_id, l.departure_date, l.message_id,
+                     CASE WHEN c.first_user_id = ?1 THEN c.second_user_id ELSE c.first_user_id END AS interlocutor_id,
+                     CASE WHEN c.first_user_id = ?1 THEN c.first_user_read_date ELSE c.second_user_read_date END AS read_date,
+                     CASE WHEN c.first_user_id = ?1 THEN c.first_user_read_message_id ELSE c.second_user_read_message_id END AS read_message_id
+              FROM bookcrossing.t_correspondence c
+              LEFT JOIN LATERAL (SELECT m.text, m.sender_user_id, m.departure_date, m.message_id FROM bookcrossing.t_messages m
+                                 WHERE m.correspondence_first_user_id = c.first_user_id AND m.correspondence_second_user_id = c.second_user_id
+                                 ORDER BY m.departure_date DESC, m.message_id DESC
+                                 LIMIT 1) l ON true
+              WHERE c.first_user_id = ?1 OR c.second_user_id = ?1
+              ORDER BY l.departure_date DESC NULLS LAST, l.message_id DESC NULLS LAST, interlocutor_id
+              OFFSET ?2 * ?3 LIMIT ?3) p
+        JOIN bookcrossing.t_user u ON u.user_id = p.interlocutor_id
+        ORDER BY p.departure_date DESC NULLS LAST, p.message_id DESC NULLS LAST, p.interlocutor_id""", nativeQuery = true)
+    List<ChatInfoView> findInbox(int userId, int pageNumber, int pageSize);
+
+    /**
+     * Сдвигает отметку прочтения первого пользователя чата на последнее сообщение чата.
+     *
+     * @return количество изменённых чатов
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bookcrossing.t_correspondence c
+        SET first_user_read_date = l.departure_date, first_user_read_message_id = l.message_id
+        FROM (SELECT m.departure_date, m.message_id FROM bookcrossing.t_messages m
+              WHERE m.correspondence_first_user_id = ?1 AND m.correspondence_second_user_id = ?2
+              ORDER BY m.departure_date DESC, m.message_id DESC LIMIT 1) l
+        WHERE c.first_user_id = ?1 AND c.second_user_id = ?2
+          AND (l.departure_date, l.message_id) > (c.first_user_read_date, c.first_user_read_message_id)""", nativeQuery = true)
+    int markReadByFirstUser(int firstUserId, int secondUserId);
+
+    /**
+     * Сдвигает отметку прочтения второго пользователя чата на последнее сообщение чата.
+     *
+     * @return количество изменённых чатов
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bookcrossing.t_correspondence c
+        SET second_user_read_date = l.departure_date, second_user_read_message_id = l.message_id
+        FROM (SELECT m.departure_date, m.message_id FROM bookcrossing.t_messages m
+              WHERE m.correspondence_first_user_id = ?1 AND m.correspondence_second_user_id = ?2
+              ORDER BY m.departure_date DESC, m.message_id DESC LIMIT 1) l
+        WHERE c.first_user_id = ?1 AND c.second_user_id = ?2
+          AND (l.departure_date, l.message_id) > (c.second_user_read_date, c.second_user_read_message_id)""", nativeQuery = true)
+    int markReadBySecondUser(int firstUserId, int secondUserId);
 }
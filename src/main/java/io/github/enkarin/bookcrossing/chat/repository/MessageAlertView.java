@@ -0,0 +1,10 @@
+package io.github.enkarin.bookcrossing.chat.repository;
+
+public interface MessageAlertView {
+
+    int getUserId();
+
+    String getEmail();
+
+    int getUnreadQuantity();
+}
@@ -1,12 +1,87 @@
 package io.github.enkarin.bookcrossing.chat.repository;
 
-import io.github.enkarin.bookcrossing.chat.model.Correspondence;
 import io.github.enkarin.bookcrossing.chat.model.Message;
-import io.github.enkarin.bookcrossing.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
+
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.correspondence = ?1 AND m.sender != ?2 AND m.declaim = false")
-    int countAllUnreadMessageFromSpecifiedChatAndToCurrentUser(Correspondence chat, User user);
+    /**
+     * Страница сообщений чата, видимых одному из его участников, от новых к старым.
+     *
+     * @param forFirstUser true, если сообщения запрашивает первый пользователь чата
+     */
+    @Query(value = """
+        SELECT m.* FROM bookcrossing.t_messages m
+        WHERE m.correspondence_first_user_id = ?1 AND m.correspondence_second_user_id = ?2
+          AND CASE WHEN ?3 THEN m.shown_first_user ELSE m.shown_second_user END
+        ORDER BY m.departure_date DESC, m.message_id DESC
+        OFFSET ?4 * ?5 LIMIT ?5""", nativeQuery = true)
+    List<Message> findChatPage(int firstUserId, int secondUserId, boolean forFirstUser, int pageNumber, int pageSize);
+
+    /**
+     * Страница сообщений чата, отправленных раньше сообщения beforeMessageId, для бесконечной прокрутки истории.
+     *
+     * @param forFirstUser true, если сообщения запрашивает первый пользователь чата
+     */
+    @Query(value = """
+        SELECT m.* FROM bookcrossing.t_messages m
+        WHERE m.correspondence_first_user_id = ?1 AND m.correspondence_second_user_id = ?2
+          AND CASE WHEN ?3 THEN m.shown_first_user ELSE m.shown_second_user END
+          AND (m.departure_date, m.message_id) < (SELECT b.departure_date, b.message_id FROM bookcrossing.t_messages b WHERE b.message_id = ?4)
+        ORDER BY m.departure_date DESC, m.message_id DESC
+        OFFSET ?5 * ?6 LIMIT ?6""", nativeQuery = true)
+    List<Message> findChatPageBefore(int firstUserId, int secondUserId, boolean forFirstUser, long beforeMessageId, int pageNumber, int pageSize);
+
+    @Query("SELECT coalesce(max(m.messageId), 0) FROM Message m")
+    long findLastMessageId();
+
+    /**
+     * Количество непрочитанных сообщений без отправленного оповещения по получателям с идентификатором больше afterUserId.
+     * Учитываются только сообщения с идентификатором не больше lastMessageId, у которых и отправитель, и получатель
+     * подтвердили почту и не заблокированы.
+     */
+    @Query(value = """
+        SELECT u.user_id AS userId, u.email AS email, count(*) AS unreadQuantity
+        FROM (SELECT c.second_user_id AS recipient_id, m.sender_user_id
+              FROM bookcrossing.t_correspondence c
+              JOIN bookcrossing.t_messages m
+                ON m.correspondence_first_user_id = c.first_user_id AND m.correspondence_second_user_id = c.second_user_id
+              WHERE NOT m.alert_sent AND m.message_id <= ?2 AND m.sender_user_id = c.first_user_id
+                AND c.second_user_id <> c.first_user_id AND c.second_user_id > ?1
+                AND (m.departure_date, m.message_id) > (c.second_user_read_date, c.second_user_read_message_id)
+              UNION ALL
+              SELECT c.first_user_id, m.sender_user_id
+              FROM bookcrossing.t_correspondence c
+              JOIN bookcrossing.t_messages m
+                ON m.correspondence_first_user_id = c.first_user_id AND m.correspondence_second_user_id = c.second_user_id
+              WHERE NOT m.alert_sent AND m.message_id <= ?2 AND m.sender_user_id = c.second_user_id
+                AND c.first_user_id <> c.second_user_id AND c.first_user_id > ?1
+                AND (m.departure_date, m.message_id) > (c.first_user_read_date, c.first_user_read_message_id)) r
+        JOIN bookcrossing.t_user u ON u.user_id = r.recipient_id
+        JOIN bookcrossing.t_user s ON s.user_id = r.sender_user_id
+        WHERE u.enabled AND u.account_non_locked AND s.enabled AND s.account_non_locked
+        GROUP BY u.user_id, u.email
+        ORDER BY u.user_id
+        LIMIT ?3""", nativeQuery = true)
+    List<MessageAlertView> findAlerts(int afterUserId, long lastMessageId, int limit);
+
+    /**
+     * Отмечает оповещение отправленным для непрочитанных сообщений, адресованных пользователям userIds.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bookcrossing.t_messages m SET alert_sent = true
+        FROM bookcrossing.t_correspondence c, bookcrossing.t_user s
+        WHERE NOT m.alert_sent AND m.message_id <= ?2
+          AND c.first_user_id = m.correspondence_first_user_id AND c.second_user_id = m.correspondence_second_user_id
+          AND c.first_user_id <> c.second_user_id
+          AND s.user_id = m.sender_user_id AND s.enabled AND s.account_non_locked
+          AND (m.sender_user_id = c.first_user_id AND c.second_user_id IN (?1)
+                 AND (m.departure_date, m.message_id) > (c.second_user_read_date, c.second_user_read_message_id)
+            OR m.sender_user_id = c.second_user_id AND c.first_user_id IN (?1)
+                 AND (m.departure_date, m.message_id) > (c.first_user_read_date, c.first_user_read_message_id))""", nativeQuery = true)
+    int markAlertSent(List<Integer> userIds, long lastMessageId);
 }
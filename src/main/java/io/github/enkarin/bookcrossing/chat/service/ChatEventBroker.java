@@ -0,0 +1,17 @@
+package io.github.enkarin.bookcrossing.chat.service;
+
+import io.github.enkarin.bookcrossing.chat.event.ChatEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Доставляет события чатов подписчикам-участникам. Реализация выбирается свойством chat.broker.
+ */
+public interface ChatEventBroker {
+
+    void publish(ChatEvent event);
+
+    void subscribe(int userId, Consumer<ChatEvent> listener);
+
+    void unsubscribe(int userId, Consumer<ChatEvent> listener);
+}
@@ -0,0 +1,20 @@
+package io.github.enkarin.bookcrossing.chat.service;
+
+import io.github.enkarin.bookcrossing.chat.event.ChatEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Передаёт события чатов брокеру только после фиксации транзакции, чтобы подписчики не получили отменённые изменения.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatEventRelay {
+    private final ChatEventBroker chatEventBroker;
+
+    @TransactionalEventListener
+    public void onChatEvent(final ChatEvent event) {
+        chatEventBroker.publish(event);
+    }
+}
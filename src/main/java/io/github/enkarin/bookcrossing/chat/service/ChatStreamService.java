@@ -0,0 +1,127 @@
+package io.github.enkarin.bookcrossing.chat.service;
+
+import io.github.enkarin.bookcrossing.chat.event.ChatEvent;
+import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Потоки Server-Sent Events с событиями чатов пользователей.
+ * Каждый открытый поток подписан на брокер событий до своего завершения, а периодические комментарии
+ * не дают промежуточным прокси закрыть простаивающее соединение.
+ * Событие только ставится в очередь потока, а отправляют его потоки chat.stream.senders, поэтому медленный клиент
+ * не задерживает запрос, отправивший сообщение, и доставку событий кластера. Поток, в очереди которого накопилось
+ * chat.stream.buffer-size событий, закрывается: клиент переподключится и получит пропущенное из истории чата.
+ */
+@Service
+public class ChatStreamService {
+    private final ChatEventBroker chatEventBroker;
+    private final UserRepository userRepository;
+    private final Duration timeout;
+    private final int bufferSize;
+    private final ThreadPoolTaskExecutor senders = new ThreadPoolTaskExecutor();
+    private final Set<ChatStream> streams = ConcurrentHashMap.newKeySet();
+
+    public ChatStreamService(final ChatEventBroker chatEventBroker,
+                             final UserRepository userRepository,
+                             @Value("${chat.stream.timeout}") final Duration timeout,
+                             @Value("${chat.stream.senders}") final int senders,
+                             @Value("${chat.stream.buffer-size}") final int bufferSize) {
+        this.chatEventBroker = chatEventBroker;
+        this.userRepository = userRepository;
+        this.timeout = timeout;
+        this.bufferSize = bufferSize;
+        this.senders.setCorePoolSize(senders);
+        this.senders.setMaxPoolSize(senders);
+        this.senders.setThreadNamePrefix("chat-stream-");
+        this.senders.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter open(final String login) {
+        final int userId = userRepository.findByLogin(login).orElseThrow(UserNotFoundException::new).getUserId();
+        final ChatStream stream = new ChatStream(new SseEmitter(timeout.toMillis()));
+        final Consumer<ChatEvent> listener = event -> stream.enqueue(SseEmitter.event()
+            .name(event.type().name())
+            .id(String.valueOf(event.message().getMessageId()))
+            .data(event.message()));
+        final Runnable close = () -> {
+            chatEventBroker.unsubscribe(userId, listener);
+            streams.remove(stream);
+        };
+        stream.emitter.onCompletion(close);
+        stream.emitter.onTimeout(close);
+        stream.emitter.onError(e -> close.run());
+        streams.add(stream);
+        chatEventBroker.subscribe(userId, listener);
+        return stream.emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.stream.heartbeat}", initialDelayString = "${chat.stream.heartbeat}")
+    public void sendHeartbeats() {
+        streams.forEach(stream -> stream.enqueue(SseEmitter.event().comment("heartbeat")));
+    }
+
+    private final class ChatStream {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        ChatStream(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(final SseEmitter.SseEventBuilder event) {
+            if (!pending.offer(event)) {
+                pending.clear();
+                emitter.complete();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event = pending.poll();
+            while (event != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    pending.clear();
+                    emitter.completeWithError(e);
+                    return;
+                }
+                event = pending.poll();
+            }
+            draining.set(false);
+            if (!pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.enkarin.bookcrossing.chat.service;
+
+import io.github.enkarin.bookcrossing.chat.event.ChatEvent;
+import io.github.enkarin.bookcrossing.cluster.ClusterEventBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Брокер событий чатов для нескольких экземпляров приложения: событие рассылается через {@link ClusterEventBus}
+ * и доставляется подписчикам, открывшим поток на любом из экземпляров.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker", havingValue = "cluster", matchIfMissing = true)
+public class ClusterChatEventBroker implements ChatEventBroker {
+    private final ChatEventBroker localBroker = new InProcessChatEventBroker();
+    private final ClusterEventBus clusterEventBus;
+
+    public ClusterChatEventBroker(final ClusterEventBus clusterEventBus) {
+        this.clusterEventBus = clusterEventBus;
+        clusterEventBus.subscribe(ChatEvent.class, localBroker::publish);
+    }
+
+    @Override
+    public void publish(final ChatEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @Override
+    public void subscribe(final int userId, final Consumer<ChatEvent> listener) {
+        localBroker.subscribe(userId, listener);
+    }
+
+    @Override
+    public void unsubscribe(final int userId, final Consumer<ChatEvent> listener) {
+        localBroker.unsubscribe(userId, listener);
+    }
+}
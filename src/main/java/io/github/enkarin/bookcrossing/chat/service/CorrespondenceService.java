@@ -3,7 +3,6 @@ package io.github.enkarin.bookcrossing.chat.service;
 import io.github.enkarin.bookcrossing.chat.dto.MessageDto;
 import io.github.enkarin.bookcrossing.chat.dto.UsersCorrKeyDto;
 import io.github.enkarin.bookcrossing.chat.model.Correspondence;
-import io.github.enkarin.bookcrossing.chat.model.Message;
 import io.github.enkarin.bookcrossing.chat.model.UsersCorrKey;
 import io.github.enkarin.bookcrossing.chat.repository.CorrespondenceRepository;
 import io.github.enkarin.bookcrossing.exception.CannotBeCreatedCorrespondenceException;
@@ -60,7 +59,9 @@ public class CorrespondenceService {
         correspondenceRepository.delete(correspondence);
     }
 
-    public List<MessageDto> getChat(final int firstUserId, final int secondUserId, final int pageNumber, final int pageSize, final int zone, final String login) {
+    @Transactional
+    public List<MessageDto> getChat(final int firstUserId, final int secondUserId, final Long beforeMessageId, final int pageNumber, final int pageSize,
+                                    final int zone, final String login) {
         final User user = userRepository.findByLogin(login).orElseThrow();
         final User fUser = userRepository.findById(firstUserId).orElseThrow(UserNotFoundException::new);
         final User sUser = userRepository.findById(secondUserId).orElseThrow(UserNotFoundException::new);
@@ -68,10 +69,8 @@ public class CorrespondenceService {
         usersCorrKey.setFirstUser(fUser);
         usersCorrKey.setSecondUser(sUser);
         final Correspondence correspondence = correspondenceRepository.findById(usersCorrKey).orElseThrow(ChatNotFoundException::new);
-        if (user.equals(fUser)) {
-            return correspondenceServiceHelper.getMessages(Message::isShownFirstUser, correspondence, pageNumber, pageSize, zone, user);
-        } else if (user.equals(sUser)) {
-            return correspondenceServiceHelper.getMessages(Message::isShownSecondUser, correspondence, pageNumber, pageSize, zone, user);
+        if (user.equals(fUser) || user.equals(sUser)) {
+            return correspondenceServiceHelper.getMessages(correspondence, beforeMessageId, pageNumber, pageSize, zone, user);
         }
         throw new NoAccessToChatException();
     }
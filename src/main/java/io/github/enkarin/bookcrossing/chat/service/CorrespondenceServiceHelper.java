@@ -3,42 +3,43 @@ package io.github.enkarin.bookcrossing.chat.service;
 import io.github.enkarin.bookcrossing.chat.dto.MessageDto;
 import io.github.enkarin.bookcrossing.chat.model.Correspondence;
 import io.github.enkarin.bookcrossing.chat.model.Message;
+import io.github.enkarin.bookcrossing.chat.repository.CorrespondenceRepository;
 import io.github.enkarin.bookcrossing.chat.repository.MessageRepository;
 import io.github.enkarin.bookcrossing.user.model.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CorrespondenceServiceHelper {
     private final MessageRepository messageRepository;
+    private final CorrespondenceRepository correspondenceRepository;
 
     @Transactional
-    public List<MessageDto> getMessages(final Predicate<Message> rules,
-                                        final Correspondence correspondence,
+    public List<MessageDto> getMessages(final Correspondence correspondence,
+                                        final Long beforeMessageId,
                                         final int pageNumber,
                                         final int pageSize,
                                         final int zone,
                                         final User user) {
-        final var messages = correspondence.getMessage();
-        final var response = messages.stream()
-            .filter(rules)
+        final int firstUserId = correspondence.getUsersCorrKey().getFirstUser().getUserId();
+        final int secondUserId = correspondence.getUsersCorrKey().getSecondUser().getUserId();
+        final boolean forFirstUser = correspondence.getUsersCorrKey().getFirstUser().equals(user);
+        final List<Message> page = beforeMessageId == null ?
+            messageRepository.findChatPage(firstUserId, secondUserId, forFirstUser, pageNumber, pageSize) :
+            messageRepository.findChatPageBefore(firstUserId, secondUserId, forFirstUser, beforeMessageId, pageNumber, pageSize);
+        final var response = page.stream()
             .map(m -> MessageDto.fromMessageAndZone(m, zone))
-            .sorted(Comparator.comparing(MessageDto::getDepartureDate).reversed())
-            .skip((long) pageNumber * pageSize)
-            .limit(pageSize)
             .toList();
-        messages.stream()
-            .filter(m -> !user.equals(m.getSender()))
-            .filter(Predicate.not(Message::isDeclaim))
-            .peek(m -> m.setDeclaim(true))
-            .forEach(messageRepository::save);
+        if (forFirstUser) {
+            correspondenceRepository.markReadByFirstUser(firstUserId, secondUserId);
+        } else {
+            correspondenceRepository.markReadBySecondUser(firstUserId, secondUserId);
+        }
         return response;
     }
 }
@@ -0,0 +1,56 @@
+package io.github.enkarin.bookcrossing.chat.service;
+
+import io.github.enkarin.bookcrossing.chat.event.ChatEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Брокер событий чатов в памяти приложения: доставляет события только подписчикам этого экземпляра.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.broker", havingValue = "in-process")
+public class InProcessChatEventBroker implements ChatEventBroker {
+    private final ConcurrentMap<Integer, Set<Consumer<ChatEvent>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(final ChatEvent event) {
+        deliver(event.firstUserId(), event);
+        if (event.secondUserId() != event.firstUserId()) {
+            deliver(event.secondUserId(), event);
+        }
+    }
+
+    @Override
+    public void subscribe(final int userId, final Consumer<ChatEvent> listener) {
+        subscribers.compute(userId, (id, listeners) -> {
+            final Set<Consumer<ChatEvent>> updated = listeners == null ? ConcurrentHashMap.newKeySet() : listeners;
+            updated.add(listener);
+            return updated;
+        });
+    }
+
+    @Override
+    public void unsubscribe(final int userId, final Consumer<ChatEvent> listener) {
+        subscribers.computeIfPresent(userId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    private void deliver(final int userId, final ChatEvent event) {
+        subscribers.getOrDefault(userId, Set.of()).forEach(listener -> {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Chat event for user {} was not delivered", userId, e);
+            }
+        });
+    }
+}
@@ -3,6 +3,8 @@ package io.github.enkarin.bookcrossing.chat.service;
 import io.github.enkarin.bookcrossing.chat.dto.MessageDto;
 import io.github.enkarin.bookcrossing.chat.dto.MessagePutRequest;
 import io.github.enkarin.bookcrossing.chat.dto.MessageRequest;
+import io.github.enkarin.bookcrossing.chat.enums.ChatEventType;
+import io.github.enkarin.bookcrossing.chat.event.ChatEvent;
 import io.github.enkarin.bookcrossing.chat.model.Correspondence;
 import io.github.enkarin.bookcrossing.chat.model.Message;
 import io.github.enkarin.bookcrossing.chat.model.UsersCorrKey;
@@ -17,6 +19,7 @@ import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.user.model.User;
 import io.github.enkarin.bookcrossing.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +31,7 @@ public class MessageService {
     private final MessageRepository messageRepository;
     private final CorrespondenceRepository correspondenceRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public MessageDto sendMessage(final MessageRequest dto, final String login) {
         final User user = userRepository.findByLogin(login).orElseThrow();
@@ -45,7 +49,7 @@ public class MessageService {
             message.setSender(user);
             message.setShownFirstUser(true);
             message.setShownSecondUser(true);
-            return MessageDto.fromMessage(messageRepository.save(message));
+            return publish(ChatEventType.SENT, messageRepository.save(message));
         }
         throw new NoAccessToChatException();
     }
@@ -57,7 +61,7 @@ public class MessageService {
         if (user.equals(message.getSender())) {
             message.setDepartureDate(timeSettings.getEpochSeconds());
             message.setText(messagePutRequest.getText());
-            return MessageDto.fromMessage(messageRepository.save(message));
+            return publish(ChatEventType.EDITED, messageRepository.save(message));
         } else {
             throw new UserIsNotSenderException();
         }
@@ -68,6 +72,7 @@ public class MessageService {
         final Message message = messageRepository.findById(messageId)
             .orElseThrow(MessageNotFountException::new);
         if (user.equals(message.getSender())) {
+            publish(ChatEventType.DELETED, message);
             messageRepository.delete(message);
         } else {
             throw new UserIsNotSenderException();
@@ -88,4 +93,10 @@ public class MessageService {
         }
         messageRepository.save(message);
     }
+
+    private MessageDto publish(final ChatEventType type, final Message message) {
+        final MessageDto messageDto = MessageDto.fromMessage(message);
+        eventPublisher.publishEvent(ChatEvent.create(type, message, messageDto));
+        return messageDto;
+    }
 }
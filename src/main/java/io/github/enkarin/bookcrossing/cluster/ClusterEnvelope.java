@@ -0,0 +1,12 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Событие в том виде, в котором оно передаётся другим экземплярам приложения.
+ *
+ * @param node идентификатор экземпляра-отправителя
+ * @param type имя класса события
+ */
+record ClusterEnvelope(String node, String type, JsonNode payload) {
+}
@@ -0,0 +1,153 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Шина событий между экземплярами приложения.
+ * Событие сразу доставляется подписчикам этого экземпляра, а другим экземплярам передаётся пакетом
+ * вместе с остальными событиями, накопившимися за cluster.batch-window. Свои же события, вернувшиеся
+ * через транспорт, отбрасываются по идентификатору экземпляра.
+ * Пакеты отправляет собственный поток шины, а не общий планировщик задач по расписанию: отправка раз в
+ * cluster.batch-window не должна ждать, пока завершатся рассылка писем или фоновые задания.
+ */
+@Slf4j
+@Component
+public class ClusterEventBus {
+    private final ClusterTransport transport;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Class<?>> types = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Consumer<Object>>> handlers = new ConcurrentHashMap<>();
+    private final Queue<String> outbox = new ConcurrentLinkedQueue<>();
+    private final Duration batchWindow;
+    private final ThreadPoolTaskScheduler flusher = new ThreadPoolTaskScheduler();
+
+    public ClusterEventBus(final ClusterTransport transport,
+                           final ObjectMapper objectMapper,
+                           final ApplicationEventPublisher eventPublisher,
+                           @Value("${cluster.batch-window}") final Duration batchWindow) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchWindow = batchWindow;
+        this.flusher.setThreadNamePrefix("cluster-flush-");
+        this.flusher.setDaemon(true);
+        this.flusher.initialize();
+    }
+
+    @PostConstruct
+    public void start() {
+        transport.listen(this::receive, () -> eventPublisher.publishEvent(new ClusterResyncEvent()));
+        flusher.getScheduledExecutor().scheduleWithFixedDelay(this::flush, batchWindow.toMillis(), batchWindow.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+
+    public <T> void subscribe(final Class<T> type, final Consumer<? super T> handler) {
+        types.computeIfAbsent(type.getName(), name -> type);
+        handlers.computeIfAbsent(type.getName(), name -> new CopyOnWriteArrayList<>()).add(event -> handler.accept(type.cast(event)));
+    }
+
+    public void publish(final Object event) {
+        final String type = event.getClass().getName();
+        deliver(type, event);
+        try {
+            outbox.add(objectMapper.writeValueAsString(new ClusterEnvelope(nodeId, type, objectMapper.valueToTree(event))));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("Event {} can not be sent to other instances", type, e);
+        }
+    }
+
+    public void flush() {
+        final List<String> messages = packMessages();
+        if (!messages.isEmpty()) {
+            try {
+                transport.send(messages);
+            } catch (RuntimeException e) {
+                log.warn("{} cluster messages were not sent", messages.size(), e);
+            }
+        }
+    }
+
+    private List<String> packMessages() {
+        final int maxSize = transport.getMaxMessageSize();
+        final List<String> messages = new ArrayList<>();
+        final List<String> batch = new ArrayList<>();
+        int batchSize = 1;
+        for (String envelope = outbox.poll(); envelope != null; envelope = outbox.poll()) {
+            final int envelopeSize = envelope.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (envelopeSize + 1 > maxSize) {
+                log.warn("Event of {} bytes exceeds the cluster message limit and is not sent to other instances", envelopeSize - 1);
+            } else {
+                if (batchSize + envelopeSize > maxSize) {
+                    messages.add(toMessage(batch));
+                    batch.clear();
+                    batchSize = 1;
+                }
+                batch.add(envelope);
+                batchSize += envelopeSize;
+            }
+        }
+        if (!batch.isEmpty()) {
+            messages.add(toMessage(batch));
+        }
+        return messages;
+    }
+
+    private static String toMessage(final List<String> batch) {
+        return '[' + String.join(",", batch) + ']';
+    }
+
+    private void receive(final String message) {
+        try {
+            for (final JsonNode node : objectMapper.readTree(message)) {
+                final ClusterEnvelope envelope = objectMapper.treeToValue(node, ClusterEnvelope.class);
+                final Class<?> type = types.get(envelope.type());
+                if (!nodeId.equals(envelope.node()) && type != null) {
+                    deliver(envelope.type(), objectMapper.treeToValue(envelope.payload(), type));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Malformed cluster message skipped", e);
+        }
+    }
+
+    private void deliver(final String type, final Object event) {
+        handlers.getOrDefault(type, List.of()).forEach(handler -> {
+            try {
+                handler.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Cluster event {} handler failed", type, e);
+            }
+        });
+    }
+}
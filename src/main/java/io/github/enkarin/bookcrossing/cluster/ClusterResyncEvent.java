@@ -0,0 +1,8 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+/**
+ * Публикуется в контексте приложения после восстановления связи с другими экземплярами:
+ * события за время разрыва могли быть потеряны, и кэши следует сбросить.
+ */
+public record ClusterResyncEvent() {
+}
@@ -0,0 +1,25 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Канал обмена сообщениями между экземплярами приложения. Реализация выбирается свойством cluster.transport.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Максимальный размер одного сообщения в байтах UTF-8.
+     */
+    int getMaxMessageSize();
+
+    void send(List<String> messages);
+
+    /**
+     * Начинает приём сообщений, в том числе отправленных этим же экземпляром.
+     *
+     * @param receiver    получатель сообщений
+     * @param onReconnect вызывается после восстановления соединения, когда часть сообщений могла быть пропущена
+     */
+    void listen(Consumer<String> receiver, Runnable onReconnect);
+}
@@ -0,0 +1,30 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Транспорт для запуска в одном экземпляре: сообщения никуда не передаются.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.transport", havingValue = "local")
+public class LocalClusterTransport implements ClusterTransport {
+
+    @Override
+    public int getMaxMessageSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void send(final List<String> messages) {
+        // no other instances to notify
+    }
+
+    @Override
+    public void listen(final Consumer<String> receiver, final Runnable onReconnect) {
+        // no other instances to listen to
+    }
+}
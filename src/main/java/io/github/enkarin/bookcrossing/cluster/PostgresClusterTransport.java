@@ -0,0 +1,155 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Транспорт на PostgreSQL LISTEN/NOTIFY. Уведомления отправляются через общий пул соединений,
+ * а слушает канал отдельное соединение вне пула, которое переоткрывается при разрыве.
+ * Полученные сообщения передаются получателю в отдельном потоке по порядку поступления,
+ * чтобы медленный обработчик не задерживал чтение канала.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cluster.transport", havingValue = "postgres", matchIfMissing = true)
+public class PostgresClusterTransport implements ClusterTransport {
+    /**
+     * Полезная нагрузка NOTIFY должна быть короче 8000 байт.
+     */
+    private static final int MAX_MESSAGE_SIZE = 7900;
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final String channel;
+    private final Duration reconnectDelay;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ThreadPoolTaskExecutor dispatcher = new ThreadPoolTaskExecutor();
+    private Thread listener;
+
+    public PostgresClusterTransport(final JdbcTemplate jdbcTemplate,
+                                    final DataSourceProperties dataSourceProperties,
+                                    @Value("${cluster.channel}") final String channel,
+                                    @Value("${cluster.reconnect-delay}") final Duration reconnectDelay) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.channel = channel;
+        this.reconnectDelay = reconnectDelay;
+        this.dispatcher.setCorePoolSize(1);
+        this.dispatcher.setMaxPoolSize(1);
+        this.dispatcher.setThreadNamePrefix("cluster-receiver-");
+        this.dispatcher.initialize();
+    }
+
+    @Override
+    public int getMaxMessageSize() {
+        return MAX_MESSAGE_SIZE;
+    }
+
+    @Override
+    public void send(final List<String> messages) {
+        messages.forEach(message -> jdbcTemplate.query("select pg_notify(?, ?)", resultSet -> {
+        }, channel, message));
+    }
+
+    @Override
+    public void listen(final Consumer<String> receiver, final Runnable onReconnect) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalStateException("Invalid cluster channel name: " + channel);
+        }
+        if (running.compareAndSet(false, true)) {
+            listener = new Thread(() -> listenLoop(receiver, onReconnect), "cluster-listener");
+            listener.setDaemon(true);
+            listener.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (running.compareAndSet(true, false)) {
+            final Thread thread = listener;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+        dispatcher.shutdown();
+    }
+
+    private void listenLoop(final Consumer<String> receiver, final Runnable onReconnect) {
+        boolean reconnect = false;
+        while (running.get()) {
+            try (Connection connection = openConnection()) {
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (reconnect) {
+                    dispatcher.execute(onReconnect);
+                }
+                reconnect = true;
+                log.info("Listening to cluster channel {}", channel);
+                receive(connection, pgConnection, receiver);
+            } catch (SQLException e) {
+                if (running.get()) {
+                    log.warn("Cluster channel {} connection lost, reconnecting in {}", channel, reconnectDelay, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void receive(final Connection connection, final PGConnection pgConnection, final Consumer<String> receiver) throws SQLException {
+        while (running.get()) {
+            final PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null || notifications.length == 0) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("select 1");
+                }
+            } else {
+                for (final PGNotification notification : notifications) {
+                    final String message = notification.getParameter();
+                    dispatcher.execute(() -> receiver.accept(message));
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("PMD.LooseCoupling")
+    private Connection openConnection() throws SQLException {
+        final Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        properties.setProperty("tcpKeepAlive", "true");
+        properties.setProperty("ApplicationName", "bookcrossing-cluster-listener");
+        return DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.enkarin.bookcrossing.configuration;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Пропускает к пулу соединений не больше потоков, чем в нём соединений.
+ * При виртуальных потоках за соединением могут одновременно прийти тысячи запросов. Пул HikariCP, отдавая
+ * соединение при ожидающих потоках, крутится в цикле Thread.yield, поэтому лишние потоки ждут на честном
+ * семафоре в порядке очереди и получают SQLTransientConnectionException, если разрешение не выдано за timeout.
+ * Разрешение возвращается при закрытии соединения.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final long timeoutMillis;
+
+    public BoundedDataSource(final DataSource targetDataSource, final int permits, final Duration timeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No database permit available within " + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    private Connection releasingOnClose(final Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ClassUtils.getDefaultClassLoader(), new Class<?>[]{ConnectionProxy.class},
+            new ReleasingInvocationHandler(connection, permits));
+    }
+
+    private static final class ReleasingInvocationHandler implements InvocationHandler {
+        private final Connection target;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingInvocationHandler(final Connection target, final Semaphore permits) {
+            this.target = target;
+            this.permits = permits;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> args[0] != null && Proxy.isProxyClass(args[0].getClass()) && equals(Proxy.getInvocationHandler(args[0]));
+                case "hashCode" -> hashCode();
+                case "getTargetConnection" -> target;
+                case "close" -> close();
+                default -> delegate(method, args);
+            };
+        }
+
+        private Object close() throws SQLException {
+            try {
+                target.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+            return null;
+        }
+
+        private Object delegate(final Method method, final Object... args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -32,6 +33,10 @@ public class TimeSettings {
         return dateTimeNow().toLocalDate();
     }
 
+    public Instant instantNow() {
+        return clock.instant();
+    }
+
     public long getEpochSeconds() {
         return clock.instant().getEpochSecond();
     }
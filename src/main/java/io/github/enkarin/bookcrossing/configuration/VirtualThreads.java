@@ -0,0 +1,46 @@
+package io.github.enkarin.bookcrossing.configuration;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Создаёт виртуальные потоки через отражение, чтобы приложение собиралось и на Java 17.
+ * Виртуальные потоки доступны только при запуске на Java 21 и новее.
+ */
+@UtilityClass
+public class VirtualThreads {
+
+    public static boolean isSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    public static ThreadFactory factory(final String prefix) {
+        try {
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object builder = builderType.getMethod("name", String.class, long.class)
+                .invoke(Thread.class.getMethod("ofVirtual").invoke(null), prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+        }
+    }
+
+    /**
+     * Возвращает исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String prefix) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory(prefix));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+        }
+    }
+}
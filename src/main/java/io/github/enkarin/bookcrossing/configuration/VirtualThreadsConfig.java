@@ -0,0 +1,70 @@
+package io.github.enkarin.bookcrossing.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Переводит обработку запросов Tomcat, асинхронные задачи и задачи по расписанию на виртуальные потоки.
+ * Включается свойством threads.virtual и требует Java 21 (профиль сборки virtual-threads).
+ * Число одновременных обращений к базе данных ограничивается размером пула HikariCP через {@link BoundedDataSource}.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    log.info("Database access is limited to {} concurrent connections", dataSource.getMaximumPoolSize());
+                    return new BoundedDataSource(dataSource, dataSource.getMaximumPoolSize(), Duration.ofMillis(dataSource.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ExecutorService requestExecutor() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("threads.virtual is enabled, but Java " + Runtime.version().feature() + " has no virtual threads");
+        }
+        return VirtualThreads.newThreadPerTaskExecutor("request-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer(final ExecutorService requestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new SimpleAsyncTaskExecutor(VirtualThreads.factory("task-"));
+    }
+
+    @Bean
+    public TaskScheduler taskScheduler(@Value("${threads.scheduler-pool-size}") final int poolSize) {
+        final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadFactory(VirtualThreads.factory("scheduling-"));
+        return scheduler;
+    }
+}
@@ -9,4 +9,5 @@ public class Constant {
     public static final String MEDIA_TYPE = "application/json";
     public static final String PNG = "image/png";
     public static final String BMP = "image/bmp";
+    public static final int MAX_PAGE_SIZE = 100;
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Getter;
 
 @Getter
+@SuppressWarnings("PMD.ExcessivePublicCount")
 @JsonFormat(shape = JsonFormat.Shape.OBJECT)
 public enum ErrorMessage {
 
@@ -27,6 +28,8 @@ public enum ErrorMessage {
     ERROR_1015("1015", "Пользователь не является отправителем", "User is not the sender"),
     ERROR_1016("1016", "Вложение не найдено", "Attachment not found"),
     ERROR_1017("1017", "Статус не был найден", "Status not found"),
+    ERROR_1018("1018", "Аватар не найден", "Avatar not found"),
+    ERROR_1019("1019", "Слишком много попыток входа, повторите попытку позже", "Too many login attempts, try again later"),
 
     //tech ex
     ERROR_2002("2002", "Токен обновления истек", "Refresh token has expired"),
@@ -36,6 +39,11 @@ public enum ErrorMessage {
     ERROR_2006("2006", "Локаль должна быть 'ru' или 'eng'", "Locale should be 'ru' or 'eng'"),
     ERROR_2007("2007", "Указанный жанр не найден", "Specified genre not found"),
     ERROR_2008("2008", "Невозможно прочитать добавляемый файл", "The file being added cannot be read"),
+    ERROR_2009("2009", "Некорректный курсор страницы", "Invalid page cursor"),
+    ERROR_2010("2010", "Задача не найдена", "Job not found"),
+    ERROR_2011("2011", "Задача уже выполняется", "Job is already running"),
+    ERROR_2012("2012", "Сервер перегружен, повторите попытку позже", "Server is busy, try again later"),
+    ERROR_2013("2013", "Токен обновления уже использован, войдите заново", "Refresh token has already been used, log in again"),
 
     //validation ex
     ERROR_3001("3001", "Имя файла не должно быть пустым", "File name cannot be empty"),
@@ -52,7 +60,9 @@ public enum ErrorMessage {
     ERROR_3012("3012", "oldPassword: Пароль должен содержать хотя бы один видимый символ", "oldPassword: The password must consist of at least one visible character"),
     ERROR_3013("3013", "userId: Идентификатор не должно быть пустым", "userId: Identifier must be not empty"),
     ERROR_3014("3014", "firstUserId: Идентификатор не должно быть пустым", "firstUserId: Identifier must be not empty"),
-    ERROR_3015("3015", "secondUserId: Идентификатор не должно быть пустым", "secondUserId: Identifier must be not empty");
+    ERROR_3015("3015", "secondUserId: Идентификатор не должно быть пустым", "secondUserId: Identifier must be not empty"),
+    ERROR_3016("3016", "pageSize: Размер страницы должен быть от 1 до 100", "pageSize: Page size must be between 1 and 100"),
+    ERROR_3017("3017", "pageNumber: Номер страницы не может быть отрицательным", "pageNumber: Page number cannot be negative");
 
     private final String code;
     private final String ru;
@@ -0,0 +1,13 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class AvatarNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 5206618453395092337L;
+
+    public AvatarNotFoundException() {
+        super("Аватар не найден");
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class BlobStorageException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 2871456330982265614L;
+
+    public BlobStorageException(final Throwable cause) {
+        super("Ошибка хранилища файлов", cause);
+    }
+}
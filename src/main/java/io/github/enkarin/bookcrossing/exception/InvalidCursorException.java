@@ -0,0 +1,17 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class InvalidCursorException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -6403811935294617207L;
+
+    public InvalidCursorException() {
+        super("Некорректный курсор страницы");
+    }
+
+    public InvalidCursorException(final Throwable cause) {
+        super("Некорректный курсор страницы", cause);
+    }
+}
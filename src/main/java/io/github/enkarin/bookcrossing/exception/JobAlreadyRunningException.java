@@ -0,0 +1,13 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class JobAlreadyRunningException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2712822214968085957L;
+
+    public JobAlreadyRunningException() {
+        super("Задача уже выполняется");
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class JobNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 3989674100561304310L;
+
+    public JobNotFoundException() {
+        super("Задача не найдена");
+    }
+}
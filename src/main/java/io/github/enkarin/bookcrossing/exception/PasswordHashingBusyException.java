@@ -0,0 +1,17 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4286310529446188379L;
+
+    public PasswordHashingBusyException() {
+        super("Сервер перегружен, повторите попытку позже");
+    }
+
+    public PasswordHashingBusyException(final Throwable cause) {
+        super("Сервер перегружен, повторите попытку позже", cause);
+    }
+}
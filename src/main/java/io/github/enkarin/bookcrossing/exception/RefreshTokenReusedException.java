@@ -0,0 +1,13 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class RefreshTokenReusedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 7406519372285436137L;
+
+    public RefreshTokenReusedException() {
+        super("Токен обновления уже использован");
+    }
+}
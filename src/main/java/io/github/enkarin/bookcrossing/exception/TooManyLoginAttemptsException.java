@@ -0,0 +1,13 @@
+package io.github.enkarin.bookcrossing.exception;
+
+import java.io.Serial;
+
+public class TooManyLoginAttemptsException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -6185021794732270614L;
+
+    public TooManyLoginAttemptsException() {
+        super("Слишком много попыток входа, повторите попытку позже");
+    }
+}
@@ -3,6 +3,7 @@ package io.github.enkarin.bookcrossing.handlers;
 import io.github.enkarin.bookcrossing.constant.ErrorMessage;
 import io.github.enkarin.bookcrossing.exception.BindingErrorsException;
 import io.github.enkarin.bookcrossing.exception.BookNotFoundException;
+import io.github.enkarin.bookcrossing.exception.PasswordHashingBusyException;
 import io.github.enkarin.bookcrossing.exception.UnsupportedImageTypeException;
 import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import org.springframework.http.HttpStatus;
@@ -45,6 +46,12 @@ public class AdviceController extends ResponseEntityExceptionHandler {
         return createErrorMap(exc.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public Map<String, String> passwordHashingBusy() {
+        return createErrorMap(ErrorMessage.ERROR_2012);
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(ConstraintViolationException.class)
     public Map<String, String[]> catchParameterValidationException(final ConstraintViolationException exception) {
@@ -0,0 +1,4 @@
+package io.github.enkarin.bookcrossing.image.event;
+
+public record ImageJobCreatedEvent(int jobId) {
+}
@@ -0,0 +1,63 @@
+package io.github.enkarin.bookcrossing.image.model;
+
+import io.github.enkarin.bookcrossing.books.model.Attachment;
+import io.github.enkarin.bookcrossing.user.model.User;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Задача на построение уменьшенных копий загруженного изображения.
+ * Относится либо к вложению книги, либо к аватару пользователя и удаляется вместе с ними.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_image_job")
+public class ImageJob {
+
+    @Id
+    @GeneratedValue
+    private int jobId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "attach_id")
+    private Attachment attachment;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(name = "source_key")
+    private String sourceKey;
+
+    private int attempts;
+
+    @Column(name = "available_at")
+    private long availableAt;
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final ImageJob that)) {
+            return false;
+        }
+        return Objects.equals(jobId, that.jobId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
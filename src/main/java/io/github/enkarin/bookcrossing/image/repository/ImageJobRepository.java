@@ -0,0 +1,24 @@
+package io.github.enkarin.bookcrossing.image.repository;
+
+import io.github.enkarin.bookcrossing.image.model.ImageJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ImageJobRepository extends JpaRepository<ImageJob, Integer> {
+
+    @Query(value = "select job_id from bookcrossing.t_image_job where available_at <= ?1 order by available_at limit ?2", nativeQuery = true)
+    List<Integer> findDueJobIds(long now, int limit);
+
+    /**
+     * Забирает задачу в работу до момента leaseUntil. Задачу получает только один из конкурирующих обработчиков,
+     * а если он не завершит её до истечения аренды, она снова станет доступна.
+     */
+    @Modifying
+    @Query("UPDATE ImageJob j SET j.availableAt = ?2, j.attempts = j.attempts + 1 WHERE j.jobId = ?1 AND j.availableAt <= ?3")
+    int claim(int jobId, long leaseUntil, long now);
+
+    void deleteByJobId(int jobId);
+}
@@ -0,0 +1,23 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import io.github.enkarin.bookcrossing.image.model.ImageJob;
+
+/**
+ * Снимок задачи, взятой обработчиком в работу. Не привязан к сессии Hibernate,
+ * поэтому его можно передавать между транзакциями и потоками.
+ */
+public record ClaimedImageJob(int jobId, Integer attachId, Integer userId, String sourceKey, int attempts) {
+
+    public static ClaimedImageJob from(final ImageJob job) {
+        return new ClaimedImageJob(
+            job.getJobId(),
+            job.getAttachment() == null ? null : job.getAttachment().getAttachId(),
+            job.getUser() == null ? null : job.getUser().getUserId(),
+            job.getSourceKey(),
+            job.getAttempts());
+    }
+
+    public boolean isAvatar() {
+        return userId != null;
+    }
+}
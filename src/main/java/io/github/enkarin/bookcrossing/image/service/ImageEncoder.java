@@ -0,0 +1,19 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Кодирует уменьшенные копии изображений. Реализация выбирается свойством image.format,
+ * так что переход на другой формат (WebP, AVIF) сводится к добавлению новой реализации.
+ */
+public interface ImageEncoder {
+
+    /**
+     * Расширение файла, под которым отдаются закодированные изображения.
+     */
+    String getExpansion();
+
+    void encode(BufferedImage image, OutputStream output) throws IOException;
+}
@@ -0,0 +1,119 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import io.github.enkarin.bookcrossing.books.enums.FormatType;
+import io.github.enkarin.bookcrossing.books.model.Attachment;
+import io.github.enkarin.bookcrossing.books.model.AttachmentVariant;
+import io.github.enkarin.bookcrossing.books.repository.AttachmentRepository;
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.image.event.ImageJobCreatedEvent;
+import io.github.enkarin.bookcrossing.image.model.ImageJob;
+import io.github.enkarin.bookcrossing.image.repository.ImageJobRepository;
+import io.github.enkarin.bookcrossing.user.model.User;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Транзакционная часть обработки изображений: постановка задач в очередь, их захват и применение результата.
+ * Само декодирование и сжатие выполняет {@link ImageJobWorker} вне транзакций.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ImageJobService {
+
+    private final ImageJobRepository imageJobRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final UserRepository userRepository;
+    private final TimeSettings timeSettings;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${image.lease}")
+    private Duration lease;
+
+    @Value("${image.max-attempts}")
+    private int maxAttempts;
+
+    @Transactional
+    public void enqueueAttachment(final Attachment attachment, final String sourceKey) {
+        final ImageJob job = new ImageJob();
+        job.setAttachment(attachment);
+        enqueue(job, sourceKey);
+    }
+
+    @Transactional
+    public void enqueueAvatar(final User user, final String sourceKey) {
+        final ImageJob job = new ImageJob();
+        job.setUser(user);
+        enqueue(job, sourceKey);
+    }
+
+    private void enqueue(final ImageJob job, final String sourceKey) {
+        job.setSourceKey(sourceKey);
+        job.setAvailableAt(timeSettings.getEpochSeconds());
+        eventPublisher.publishEvent(new ImageJobCreatedEvent(imageJobRepository.save(job).getJobId()));
+    }
+
+    public List<Integer> findDueJobIds(final int limit) {
+        return imageJobRepository.findDueJobIds(timeSettings.getEpochSeconds(), limit);
+    }
+
+    @Transactional
+    public Optional<ClaimedImageJob> claim(final int jobId) {
+        final long now = timeSettings.getEpochSeconds();
+        if (imageJobRepository.claim(jobId, now + lease.toSeconds(), now) == 0) {
+            return Optional.empty();
+        }
+        return imageJobRepository.findById(jobId).map(ClaimedImageJob::from);
+    }
+
+    @Transactional
+    public void completeAttachment(final ClaimedImageJob job, final String listKey, final String thumbKey, final String expansion) {
+        attachmentRepository.findById(job.attachId())
+            .filter(attachment -> attachment.getVariants().stream().allMatch(variant -> variant.getId().getFormat() == FormatType.ORIGIN))
+            .ifPresent(attachment -> {
+                attachment.getVariants().add(new AttachmentVariant(attachment, FormatType.LIST, listKey, expansion));
+                attachment.getVariants().add(new AttachmentVariant(attachment, FormatType.THUMB, thumbKey, expansion));
+            });
+        imageJobRepository.deleteByJobId(job.jobId());
+    }
+
+    /**
+     * Заменяет аватар сжатой копией, только если пользователь не успел загрузить новый аватар, пока шла обработка.
+     */
+    @Transactional
+    public void completeAvatar(final ClaimedImageJob job, final String avatarKey, final String expansion) {
+        userRepository.findById(job.userId())
+            .filter(user -> job.sourceKey().equals(user.getAvatarKey()))
+            .ifPresent(user -> {
+                user.setAvatarKey(avatarKey);
+                user.setAvatarExpansion(expansion);
+            });
+        imageJobRepository.deleteByJobId(job.jobId());
+    }
+
+    /**
+     * После неудачи задача снова станет доступна по истечении аренды, пока не исчерпано число попыток.
+     */
+    @Transactional
+    public void fail(final ClaimedImageJob job) {
+        if (job.attempts() >= maxAttempts) {
+            discard(job);
+        }
+    }
+
+    @Transactional
+    public void discard(final ClaimedImageJob job) {
+        log.error("Image job {} for blob {} is discarded after {} attempts", job.jobId(), job.sourceKey(), job.attempts());
+        imageJobRepository.deleteByJobId(job.jobId());
+    }
+}
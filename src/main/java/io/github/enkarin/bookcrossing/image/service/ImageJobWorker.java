@@ -0,0 +1,119 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import io.github.enkarin.bookcrossing.image.event.ImageJobCreatedEvent;
+import io.github.enkarin.bookcrossing.storage.BlobStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+/**
+ * Строит уменьшенные копии изображений на ограниченном пуле потоков.
+ * Новые задачи передаются в пул после фиксации транзакции, в которой они созданы.
+ * Задачи, не поместившиеся в очередь или оставшиеся после перезапуска, подбирает периодический опрос t_image_job.
+ * Исходное изображение декодируется один раз, а миниатюра строится из уже уменьшенной копии для списка.
+ */
+@Slf4j
+@Component
+public class ImageJobWorker {
+    private static final int LIST_WIDTH = 300;
+    private static final int LIST_HEIGHT = 200;
+    private static final int THUMB_SIZE = 70;
+    private static final int AVATAR_SIZE = 150;
+
+    private final ImageJobService imageJobService;
+    private final BlobStorage blobStorage;
+    private final ImageProcessor imageProcessor;
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public ImageJobWorker(final ImageJobService imageJobService,
+                          final BlobStorage blobStorage,
+                          final ImageProcessor imageProcessor,
+                          @Value("${image.workers}") final int workers,
+                          @Value("${image.queue-capacity}") final int queueCapacity) {
+        this.imageJobService = imageJobService;
+        this.blobStorage = blobStorage;
+        this.imageProcessor = imageProcessor;
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @TransactionalEventListener
+    public void onJobCreated(final ImageJobCreatedEvent event) {
+        submit(event.jobId());
+    }
+
+    @Scheduled(fixedDelayString = "${image.poll-interval}", initialDelayString = "${image.poll-interval}")
+    public void pollDueJobs() {
+        final int capacity = executor.getThreadPoolExecutor().getQueue().remainingCapacity();
+        if (capacity > 0) {
+            imageJobService.findDueJobIds(capacity).forEach(this::submit);
+        }
+    }
+
+    private void submit(final int jobId) {
+        try {
+            executor.execute(() -> process(jobId));
+        } catch (TaskRejectedException e) {
+            log.debug("Image queue is full, job {} is left for the next poll", jobId);
+        }
+    }
+
+    private void process(final int jobId) {
+        imageJobService.claim(jobId).ifPresent(job -> {
+            try {
+                final Resource source = blobStorage.load(job.sourceKey());
+                if (!source.exists()) {
+                    imageJobService.discard(job);
+                    return;
+                }
+                if (job.isAvatar()) {
+                    processAvatar(job, source);
+                } else {
+                    processAttachment(job, source);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Image job {} failed", jobId, e);
+                imageJobService.fail(job);
+            }
+        });
+    }
+
+    private void processAvatar(final ClaimedImageJob job, final Resource source) throws IOException {
+        final BufferedImage image = imageProcessor.decode(source, AVATAR_SIZE, AVATAR_SIZE);
+        if (image == null) {
+            imageJobService.discard(job);
+        } else {
+            imageJobService.completeAvatar(job, blobStorage.store(imageProcessor.encode(imageProcessor.resize(image, AVATAR_SIZE, AVATAR_SIZE))),
+                imageProcessor.getExpansion());
+        }
+    }
+
+    private void processAttachment(final ClaimedImageJob job, final Resource source) throws IOException {
+        final BufferedImage image = imageProcessor.decode(source, LIST_WIDTH, LIST_HEIGHT);
+        if (image == null) {
+            imageJobService.discard(job);
+        } else {
+            final BufferedImage list = imageProcessor.resize(image, LIST_WIDTH, LIST_HEIGHT);
+            final BufferedImage thumb = imageProcessor.resize(list, THUMB_SIZE, THUMB_SIZE);
+            imageJobService.completeAttachment(job, blobStorage.store(imageProcessor.encode(list)), blobStorage.store(imageProcessor.encode(thumb)),
+                imageProcessor.getExpansion());
+        }
+    }
+}
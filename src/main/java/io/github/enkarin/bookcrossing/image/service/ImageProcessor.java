@@ -0,0 +1,77 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * Декодирование, масштабирование и кодирование изображений.
+ * Большие изображения декодируются с прореживанием, но не меньше чем вдвое крупнее наибольшей нужной копии,
+ * чтобы последующее сглаживающее уменьшение не теряло в качестве.
+ */
+@Component
+public class ImageProcessor {
+    private final ImageEncoder encoder;
+    private final Scalr.Method scalingMethod;
+
+    public ImageProcessor(final ImageEncoder encoder, @Value("${image.scaling-method}") final Scalr.Method scalingMethod) {
+        this.encoder = encoder;
+        this.scalingMethod = scalingMethod;
+    }
+
+    /**
+     * Декодирует изображение, прореживая слишком крупные исходники.
+     *
+     * @return декодированное изображение или null, если формат файла не поддерживается
+     */
+    public BufferedImage decode(final Resource source, final int targetWidth, final int targetHeight) throws IOException {
+        try (InputStream content = source.getInputStream();
+             ImageInputStream imageInputStream = ImageIO.createImageInputStream(content)) {
+            final Iterator<ImageReader> readers = imageInputStream == null ? null : ImageIO.getImageReaders(imageInputStream);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                final ImageReadParam param = reader.getDefaultReadParam();
+                final int step = Math.min(reader.getWidth(0) / (targetWidth * 2), reader.getHeight(0) / (targetHeight * 2));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    public BufferedImage resize(final BufferedImage image, final int targetWidth, final int targetHeight) {
+        return Scalr.resize(image, scalingMethod, targetWidth, targetHeight);
+    }
+
+    /**
+     * Возвращает закодированное изображение в виде потока поверх буфера, без копирования в отдельный массив.
+     */
+    public InputStream encode(final BufferedImage image) throws IOException {
+        try (FastByteArrayOutputStream output = new FastByteArrayOutputStream()) {
+            encoder.encode(image, output);
+            return output.getInputStream();
+        }
+    }
+
+    public String getExpansion() {
+        return encoder.getExpansion();
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Кодирует изображения в JPEG с заданным качеством.
+ * Экземпляры ImageWriter не потокобезопасны, поэтому каждый поток берёт свободный из пула и возвращает его после записи.
+ * Пул хранит не больше image.workers экземпляров, лишний освобождается сразу после записи.
+ */
+@Component
+@ConditionalOnProperty(name = "image.format", havingValue = "jpg", matchIfMissing = true)
+public class JpegImageEncoder implements ImageEncoder {
+    private final float quality;
+    private final Queue<ImageWriter> writers;
+
+    public JpegImageEncoder(@Value("${image.quality}") final float quality, @Value("${image.workers}") final int workers) {
+        this.quality = quality;
+        this.writers = new ArrayBlockingQueue<>(Math.max(1, workers));
+    }
+
+    @Override
+    public String getExpansion() {
+        return "jpg";
+    }
+
+    @Override
+    public void encode(final BufferedImage image, final OutputStream output) throws IOException {
+        final ImageWriter pooled = writers.poll();
+        final ImageWriter writer = pooled == null ? ImageIO.getImageWritersByFormatName("jpg").next() : pooled;
+        try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(output)) {
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(withoutAlpha(image), null, null), param);
+        } finally {
+            writer.reset();
+            if (!writers.offer(writer)) {
+                writer.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage withoutAlpha(final BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
+        }
+        final BufferedImage opaque = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        final Graphics2D graphics = opaque.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return opaque;
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.enkarin.bookcrossing.job.controllers;
+
+import io.github.enkarin.bookcrossing.constant.Constant;
+import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.exception.JobAlreadyRunningException;
+import io.github.enkarin.bookcrossing.exception.JobNotFoundException;
+import io.github.enkarin.bookcrossing.job.dto.JobDto;
+import io.github.enkarin.bookcrossing.job.dto.JobRunDto;
+import io.github.enkarin.bookcrossing.job.service.JobRunner;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
+
+@Tag(
+    name = "Фоновые задачи",
+    description = "Позволяет администратору просматривать историю фоновых задач и запускать их вручную"
+)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/adm/jobs")
+public class JobController {
+
+    private final JobRunner jobRunner;
+
+    @Operation(
+        summary = "Список задач",
+        description = "Возвращает фоновые задачи с расписанием и текущей арендой"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Возвращает список задач",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = JobDto.class)))})
+    })
+    @GetMapping
+    public ResponseEntity<List<JobDto>> findJobs(@RequestParam @Parameter(description = "Часовой пояс") final int zone) {
+        return ResponseEntity.ok(jobRunner.findJobs(zone));
+    }
+
+    @Operation(
+        summary = "История запусков",
+        description = "Возвращает запуски задачи от новых к старым"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "404", description = "Задача не найдена",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
+        @ApiResponse(responseCode = "200", description = "Возвращает страницу запусков",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, array = @ArraySchema(schema = @Schema(implementation = JobRunDto.class)))})
+    })
+    @GetMapping("/runs")
+    public ResponseEntity<List<JobRunDto>> findRuns(@RequestParam final String name,
+                                                    @RequestParam @Parameter(description = "Часовой пояс") final int zone,
+                                                    @RequestParam final int pageNumber,
+                                                    @RequestParam final int pageSize) {
+        return ResponseEntity.ok(jobRunner.findRuns(name, zone, pageNumber, pageSize));
+    }
+
+    @Operation(
+        summary = "Запуск задачи",
+        description = "Выполняет задачу немедленно и возвращает результат запуска"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "404", description = "Задача не найдена",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
+        @ApiResponse(responseCode = "409", description = "Задача уже выполняется",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
+        @ApiResponse(responseCode = "200", description = "Задача выполнена",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(implementation = JobRunDto.class))})
+    })
+    @PostMapping("/run")
+    public ResponseEntity<JobRunDto> runJob(@RequestParam final String name,
+                                            @RequestParam @Parameter(description = "Часовой пояс") final int zone) {
+        return ResponseEntity.ok(jobRunner.runNow(name, zone));
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(JobNotFoundException.class)
+    public Map<String, String> jobNotFound() {
+        return createErrorMap(ErrorMessage.ERROR_2010);
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ExceptionHandler(JobAlreadyRunningException.class)
+    public Map<String, String> jobAlreadyRunning() {
+        return createErrorMap(ErrorMessage.ERROR_2011);
+    }
+}
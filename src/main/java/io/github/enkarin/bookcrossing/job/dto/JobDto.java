@@ -0,0 +1,46 @@
+package io.github.enkarin.bookcrossing.job.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.github.enkarin.bookcrossing.job.model.JobLock;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Immutable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Schema(description = "Фоновая задача")
+public class JobDto {
+
+    @Schema(description = "Название задачи", example = "message-alerts")
+    private final String name;
+
+    @Schema(description = "Расписание в формате cron", example = "0 */30 * * * *")
+    private final String cron;
+
+    @Schema(description = "Идентификатор экземпляра приложения, который последним брал аренду задачи")
+    private final String lockedBy;
+
+    @Schema(description = "Время окончания аренды, \"0\" если задача ещё не запускалась", example = "2022-11-03T23:15:09")
+    private final String lockedUntil;
+
+    @JsonCreator
+    public static JobDto create(final String name, final String cron, final String lockedBy, final String lockedUntil) {
+        return new JobDto(name, cron, lockedBy, lockedUntil);
+    }
+
+    public static JobDto create(final String name, final String cron, final JobLock lock, final int zone) {
+        if (lock == null) {
+            return new JobDto(name, cron, null, "0");
+        }
+        return new JobDto(name, cron, lock.getLockedBy(),
+            LocalDateTime.ofEpochSecond(lock.getLockedUntil(), 0, ZoneOffset.ofHours(zone)).toString());
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.enkarin.bookcrossing.job.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.github.enkarin.bookcrossing.job.enums.JobRunStatus;
+import io.github.enkarin.bookcrossing.job.model.JobRun;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import javax.annotation.concurrent.Immutable;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+@Immutable
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Schema(description = "Запуск фоновой задачи")
+public class JobRunDto {
+
+    @Schema(description = "Идентификатор запуска")
+    private final long runId;
+
+    @Schema(description = "Название задачи", example = "message-alerts")
+    private final String jobName;
+
+    @Schema(description = "Идентификатор экземпляра приложения, выполнившего задачу")
+    private final String node;
+
+    @Schema(description = "Время начала запуска", example = "2022-11-03T23:15:09")
+    private final String startedAt;
+
+    @Schema(description = "Длительность запуска в миллисекундах")
+    private final long durationMillis;
+
+    @Schema(description = "Количество обработанных записей")
+    private final int processed;
+
+    @Schema(description = "Результат запуска")
+    private final JobRunStatus status;
+
+    @Schema(description = "Ошибка, прервавшая запуск")
+    private final String error;
+
+    @JsonCreator
+    public static JobRunDto create(final long runId, final String jobName, final String node, final String startedAt,
+                                   final long durationMillis, final int processed, final JobRunStatus status, final String error) {
+        return new JobRunDto(runId, jobName, node, startedAt, durationMillis, processed, status, error);
+    }
+
+    public static JobRunDto fromJobRun(final JobRun run, final int zone) {
+        return new JobRunDto(run.getRunId(), run.getJobName(), run.getNode(),
+            LocalDateTime.ofEpochSecond(run.getStartedAt(), 0, ZoneOffset.ofHours(zone)).toString(),
+            run.getDurationMillis(), run.getProcessed(), run.getStatus(), run.getError());
+    }
+}
@@ -0,0 +1,5 @@
+package io.github.enkarin.bookcrossing.job.enums;
+
+public enum JobRunStatus {
+    SUCCEEDED, FAILED
+}
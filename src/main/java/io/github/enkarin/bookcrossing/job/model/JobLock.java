@@ -0,0 +1,46 @@
+package io.github.enkarin.bookcrossing.job.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Аренда фоновой задачи. Пока lockedUntil не наступило, задачу не запускает ни один другой экземпляр приложения.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_job_lock")
+public class JobLock {
+
+    @Id
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(name = "locked_until")
+    private long lockedUntil;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final JobLock that)) {
+            return false;
+        }
+        return Objects.equals(jobName, that.jobName);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
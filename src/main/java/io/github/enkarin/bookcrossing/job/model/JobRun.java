@@ -0,0 +1,58 @@
+package io.github.enkarin.bookcrossing.job.model;
+
+import io.github.enkarin.bookcrossing.job.enums.JobRunStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "t_job_run")
+public class JobRun {
+
+    @Id
+    @GeneratedValue
+    private long runId;
+
+    @Column(name = "job_name")
+    private String jobName;
+
+    private String node;
+
+    @Column(name = "started_at")
+    private long startedAt;
+
+    @Column(name = "duration_millis")
+    private long durationMillis;
+
+    private int processed;
+
+    @Enumerated(EnumType.STRING)
+    private JobRunStatus status;
+
+    private String error;
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final JobRun that)) {
+            return false;
+        }
+        return runId == that.runId;
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
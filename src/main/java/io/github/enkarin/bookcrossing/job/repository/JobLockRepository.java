@@ -0,0 +1,25 @@
+package io.github.enkarin.bookcrossing.job.repository;
+
+import io.github.enkarin.bookcrossing.job.model.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Берёт аренду задачи до момента lockedUntil, если её никто не держит.
+     *
+     * @return 1, если аренда получена, иначе 0
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO bookcrossing.t_job_lock AS l (job_name, locked_until, locked_by) VALUES (?1, ?2, ?3)
+        ON CONFLICT (job_name) DO UPDATE SET locked_until = excluded.locked_until, locked_by = excluded.locked_by
+        WHERE l.locked_until <= ?4""", nativeQuery = true)
+    int acquire(String jobName, long lockedUntil, String node, long now);
+
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = ?3 WHERE l.jobName = ?1 AND l.lockedBy = ?2")
+    int release(String jobName, String node, long lockedUntil);
+}
@@ -0,0 +1,17 @@
+package io.github.enkarin.bookcrossing.job.repository;
+
+import io.github.enkarin.bookcrossing.job.model.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    @Query(value = """
+        SELECT * FROM bookcrossing.t_job_run
+        WHERE job_name = ?1
+        ORDER BY started_at DESC, run_id DESC
+        OFFSET ?2 * ?3 LIMIT ?3""", nativeQuery = true)
+    List<JobRun> findRuns(String jobName, int pageNumber, int pageSize);
+}
@@ -0,0 +1,42 @@
+package io.github.enkarin.bookcrossing.job.service;
+
+import io.github.enkarin.bookcrossing.job.model.JobLock;
+import io.github.enkarin.bookcrossing.job.model.JobRun;
+import io.github.enkarin.bookcrossing.job.repository.JobLockRepository;
+import io.github.enkarin.bookcrossing.job.repository.JobRunRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class JobLockService {
+    private final JobLockRepository jobLockRepository;
+    private final JobRunRepository jobRunRepository;
+
+    @Transactional
+    public boolean acquire(final String jobName, final String node, final long lockedUntil, final long now) {
+        return jobLockRepository.acquire(jobName, lockedUntil, node, now) > 0;
+    }
+
+    @Transactional
+    public void release(final String jobName, final String node, final long lockedUntil) {
+        jobLockRepository.release(jobName, node, lockedUntil);
+    }
+
+    @Transactional
+    public JobRun saveRun(final JobRun run) {
+        return jobRunRepository.save(run);
+    }
+
+    public List<JobLock> findLocks() {
+        return jobLockRepository.findAll();
+    }
+
+    public List<JobRun> findRuns(final String jobName, final int pageNumber, final int pageSize) {
+        return jobRunRepository.findRuns(jobName, pageNumber, pageSize);
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.enkarin.bookcrossing.job.service;
+
+import io.github.enkarin.bookcrossing.cluster.ClusterEventBus;
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.exception.JobAlreadyRunningException;
+import io.github.enkarin.bookcrossing.exception.JobNotFoundException;
+import io.github.enkarin.bookcrossing.job.dto.JobDto;
+import io.github.enkarin.bookcrossing.job.dto.JobRunDto;
+import io.github.enkarin.bookcrossing.job.enums.JobRunStatus;
+import io.github.enkarin.bookcrossing.job.model.JobLock;
+import io.github.enkarin.bookcrossing.job.model.JobRun;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Запускает {@link ScheduledJob} по расписанию или по запросу администратора.
+ * Перед запуском берётся аренда задачи в базе данных, поэтому при нескольких экземплярах приложения
+ * задача выполняется только на одном из них. После завершения аренда удерживается ещё jobs.release-delay
+ * от начала запуска, чтобы экземпляр с немного отстающими часами не повторил тот же запуск.
+ */
+@Slf4j
+@Service
+public class JobRunner implements SchedulingConfigurer {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final Map<String, ScheduledJob> jobs;
+    private final JobLockService jobLockService;
+    private final TimeSettings timeSettings;
+    private final Environment environment;
+    private final String node;
+    private final Duration releaseDelay;
+
+    public JobRunner(final List<ScheduledJob> jobs,
+                     final JobLockService jobLockService,
+                     final TimeSettings timeSettings,
+                     final Environment environment,
+                     final ClusterEventBus clusterEventBus,
+                     @Value("${jobs.release-delay}") final Duration releaseDelay) {
+        this.jobs = jobs.stream().collect(Collectors.toMap(ScheduledJob::getName, Function.identity()));
+        this.jobLockService = jobLockService;
+        this.timeSettings = timeSettings;
+        this.environment = environment;
+        this.node = clusterEventBus.getNodeId();
+        this.releaseDelay = releaseDelay;
+    }
+
+    @Override
+    public void configureTasks(final ScheduledTaskRegistrar registrar) {
+        jobs.values().forEach(job -> registrar.addCronTask(() -> run(job), getCron(job.getName())));
+    }
+
+    public List<JobDto> findJobs(final int zone) {
+        final Map<String, JobLock> locks = jobLockService.findLocks().stream()
+            .collect(Collectors.toMap(JobLock::getJobName, Function.identity()));
+        return jobs.keySet().stream()
+            .sorted()
+            .map(name -> JobDto.create(name, getCron(name), locks.get(name), zone))
+            .toList();
+    }
+
+    public List<JobRunDto> findRuns(final String name, final int zone, final int pageNumber, final int pageSize) {
+        return jobLockService.findRuns(getJob(name).getName(), pageNumber, pageSize).stream()
+            .map(run -> JobRunDto.fromJobRun(run, zone))
+            .toList();
+    }
+
+    public JobRunDto runNow(final String name, final int zone) {
+        return run(getJob(name))
+            .map(run -> JobRunDto.fromJobRun(run, zone))
+            .orElseThrow(JobAlreadyRunningException::new);
+    }
+
+    /**
+     * Выполняет задачу, если её аренду удалось получить.
+     *
+     * @return запись о запуске или пустой Optional, если задачу сейчас выполняет другой экземпляр
+     */
+    public Optional<JobRun> run(final ScheduledJob job) {
+        final String name = job.getName();
+        final Instant startedAt = timeSettings.instantNow();
+        final Duration lease = environment.getRequiredProperty("jobs." + name + ".lease", Duration.class);
+        if (!jobLockService.acquire(name, node, startedAt.plus(lease).getEpochSecond(), startedAt.getEpochSecond())) {
+            log.debug("Job {} is locked by another instance", name);
+            return Optional.empty();
+        }
+        final JobRun run = new JobRun();
+        run.setJobName(name);
+        run.setNode(node);
+        run.setStartedAt(startedAt.getEpochSecond());
+        try {
+            run.setProcessed(job.run());
+            run.setStatus(JobRunStatus.SUCCEEDED);
+        } catch (RuntimeException e) {
+            log.error("Job {} failed", name, e);
+            final String error = e.toString();
+            run.setStatus(JobRunStatus.FAILED);
+            run.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        } finally {
+            final Instant finishedAt = timeSettings.instantNow();
+            run.setDurationMillis(Duration.between(startedAt, finishedAt).toMillis());
+            jobLockService.release(name, node, Math.max(finishedAt.getEpochSecond(), startedAt.plus(releaseDelay).getEpochSecond()));
+        }
+        log.info("Job {} {} in {} ms, processed {}", name, run.getStatus(), run.getDurationMillis(), run.getProcessed());
+        return Optional.of(jobLockService.saveRun(run));
+    }
+
+    private ScheduledJob getJob(final String name) {
+        final ScheduledJob job = jobs.get(name);
+        if (job == null) {
+            throw new JobNotFoundException();
+        }
+        return job;
+    }
+
+    private String getCron(final String name) {
+        return environment.getRequiredProperty("jobs." + name + ".cron");
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.enkarin.bookcrossing.job.service;
+
+/**
+ * Фоновая задача, которую в каждый момент времени выполняет не больше одного экземпляра приложения.
+ * Расписание задаётся свойством jobs.&lt;name&gt;.cron, а время аренды — свойством jobs.&lt;name&gt;.lease:
+ * аренда должна быть больше самого долгого запуска, иначе задачу может начать другой экземпляр.
+ */
+public interface ScheduledJob {
+
+    String getName();
+
+    /**
+     * Выполняет задачу.
+     *
+     * @return количество обработанных записей
+     */
+    int run();
+}
@@ -27,4 +27,6 @@ public class ActionMailUser {
 
     @Enumerated
     private ApproveType type;
+
+    private long expiresAt;
 }
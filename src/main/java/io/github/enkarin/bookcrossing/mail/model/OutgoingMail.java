@@ -0,0 +1,57 @@
+package io.github.enkarin.bookcrossing.mail.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Письмо в очереди отправки. Записывается в транзакции, породившей письмо, и удаляется после отправки.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "t_mail_outbox")
+public class OutgoingMail {
+
+    @Id
+    @GeneratedValue
+    private long mailId;
+
+    @Column(name = "user_id")
+    private int userId;
+
+    private String recipient;
+
+    private String subject;
+
+    private String body;
+
+    private int attempts;
+
+    @Column(name = "available_at")
+    private long availableAt;
+
+    @Column(name = "created_at")
+    private long createdAt;
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof final OutgoingMail that)) {
+            return false;
+        }
+        return mailId == that.mailId;
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -2,6 +2,19 @@ package io.github.enkarin.bookcrossing.mail.repository;
 
 import io.github.enkarin.bookcrossing.mail.model.ActionMailUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface ActionMailUserRepository extends JpaRepository<ActionMailUser, String> {
+
+    /**
+     * Удаляет не больше limit истёкших токенов, пропуская строки, заблокированные другими транзакциями.
+     *
+     * @return количество удалённых токенов
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM bookcrossing.t_action_mail_user WHERE ctid = ANY(ARRAY(
+            SELECT ctid FROM bookcrossing.t_action_mail_user WHERE expires_at < ?1 LIMIT ?2 FOR UPDATE SKIP LOCKED))""", nativeQuery = true)
+    int deleteExpired(long now, int limit);
 }
@@ -0,0 +1,26 @@
+package io.github.enkarin.bookcrossing.mail.repository;
+
+import io.github.enkarin.bookcrossing.mail.model.OutgoingMail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutgoingMailRepository extends JpaRepository<OutgoingMail, Long> {
+
+    /**
+     * Письма, готовые к отправке. Строки, которые в этот момент забирает другой экземпляр приложения, пропускаются.
+     */
+    @Query(value = """
+        SELECT * FROM bookcrossing.t_mail_outbox
+        WHERE available_at <= ?1
+        ORDER BY available_at, mail_id
+        LIMIT ?2
+        FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<OutgoingMail> findDueForUpdate(long now, int limit);
+
+    @Modifying
+    @Query("UPDATE OutgoingMail m SET m.availableAt = ?2 WHERE m.mailId = ?1")
+    int postpone(long mailId, long availableAt);
+}
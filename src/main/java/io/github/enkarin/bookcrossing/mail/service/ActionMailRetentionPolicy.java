@@ -0,0 +1,27 @@
+package io.github.enkarin.bookcrossing.mail.service;
+
+import io.github.enkarin.bookcrossing.mail.repository.ActionMailUserRepository;
+import io.github.enkarin.bookcrossing.schedulingtasks.RetentionPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Удаляет истёкшие токены подтверждения почты и сброса пароля.
+ */
+@Service
+@RequiredArgsConstructor
+public class ActionMailRetentionPolicy implements RetentionPolicy {
+    private final ActionMailUserRepository actionMailUserRepository;
+
+    @Override
+    public String getName() {
+        return "action-mail-tokens";
+    }
+
+    @Override
+    @Transactional
+    public int purge(final long now, final int limit) {
+        return actionMailUserRepository.deleteExpired(now, limit);
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.enkarin.bookcrossing.mail.service;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.mail.model.OutgoingMail;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.mail.internet.AddressException;
+import javax.mail.internet.InternetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Отправляет письма из очереди. За один проход забирается не больше mail.outbox.batch-size писем,
+ * что вместе с mail.outbox.poll-interval ограничивает скорость отправки; пачка уходит через одно SMTP-соединение.
+ * Неотправленное письмо откладывается с экспоненциально растущей задержкой и после mail.outbox.max-attempts попыток
+ * удаляется, как и письмо с некорректным адресом.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+    private final MailOutboxService mailOutboxService;
+    private final JavaMailSender mailSender;
+    private final TimeSettings timeSettings;
+    private final AtomicLong pending = new AtomicLong();
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+
+    @Value("${spring.mail.from}")
+    private String fromEmail;
+
+    @Value("${mail.outbox.batch-size}")
+    private int batchSize;
+
+    @Value("${mail.outbox.lease}")
+    private Duration lease;
+
+    @Value("${mail.outbox.retry-delay}")
+    private Duration retryDelay;
+
+    @Value("${mail.outbox.max-retry-delay}")
+    private Duration maxRetryDelay;
+
+    @Value("${mail.outbox.max-attempts}")
+    private int maxAttempts;
+
+    public MailOutboxDispatcher(final MailOutboxService mailOutboxService,
+                                final JavaMailSender mailSender,
+                                final TimeSettings timeSettings,
+                                final MeterRegistry meterRegistry) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailSender = mailSender;
+        this.timeSettings = timeSettings;
+        Gauge.builder("mail.outbox.pending", pending, AtomicLong::get)
+            .description("Mails waiting in the outbox")
+            .register(meterRegistry);
+        sendTimer = Timer.builder("mail.outbox.send")
+            .description("Time to send one batch of mails")
+            .register(meterRegistry);
+        sentCounter = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        retriedCounter = Counter.builder("mail.outbox.retried").register(meterRegistry);
+        droppedCounter = Counter.builder("mail.outbox.dropped").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval}")
+    public void dispatch() {
+        final List<OutgoingMail> mails = mailOutboxService.claim(batchSize, lease);
+        if (!mails.isEmpty()) {
+            send(mails);
+        }
+        pending.set(mailOutboxService.countPending());
+    }
+
+    private void send(final List<OutgoingMail> mails) {
+        final List<OutgoingMail> valid = new ArrayList<>(mails.size());
+        final List<Long> dropped = new ArrayList<>();
+        for (final OutgoingMail mail : mails) {
+            if (isValidAddress(mail.getRecipient())) {
+                valid.add(mail);
+            } else {
+                log.error("Mail {} has malformed recipient and is dropped", mail.getMailId());
+                dropped.add(mail.getMailId());
+            }
+        }
+        final SimpleMailMessage[] messages = valid.stream()
+            .map(this::toMessage)
+            .toArray(SimpleMailMessage[]::new);
+        final Map<Object, Exception> failed = sendBatch(messages);
+        final List<Long> sent = new ArrayList<>(valid.size());
+        for (int i = 0; i < messages.length; i++) {
+            final OutgoingMail mail = valid.get(i);
+            if (failed.containsKey(messages[i])) {
+                retryOrDrop(mail, failed.get(messages[i]), dropped);
+            } else {
+                sent.add(mail.getMailId());
+            }
+        }
+        sentCounter.increment(sent.size());
+        droppedCounter.increment(dropped.size());
+        sent.addAll(dropped);
+        if (!sent.isEmpty()) {
+            mailOutboxService.delete(sent);
+        }
+    }
+
+    private void retryOrDrop(final OutgoingMail mail, final Exception exception, final List<Long> dropped) {
+        if (mail.getAttempts() >= maxAttempts) {
+            log.error("Mail {} was not sent after {} attempts and is dropped", mail.getMailId(), mail.getAttempts(), exception);
+            dropped.add(mail.getMailId());
+        } else {
+            retriedCounter.increment();
+            mailOutboxService.postpone(mail.getMailId(), timeSettings.getEpochSeconds() + getRetryDelay(mail.getAttempts()).toSeconds());
+        }
+    }
+
+    private Map<Object, Exception> sendBatch(final SimpleMailMessage... messages) {
+        if (messages.length == 0) {
+            return Map.of();
+        }
+        final Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages);
+            return Map.of();
+        } catch (MailSendException e) {
+            log.warn("{} of {} mails were not sent", e.getFailedMessages().size(), messages.length, e);
+            return e.getFailedMessages().isEmpty() ? failAll(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            log.warn("{} mails were not sent", messages.length, e);
+            return failAll(messages, e);
+        } finally {
+            sample.stop(sendTimer);
+        }
+    }
+
+    private static Map<Object, Exception> failAll(final SimpleMailMessage[] messages, final Exception exception) {
+        final Map<Object, Exception> failed = new IdentityHashMap<>();
+        for (final SimpleMailMessage message : messages) {
+            failed.put(message, exception);
+        }
+        return failed;
+    }
+
+    private Duration getRetryDelay(final int attempts) {
+        final Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : delay;
+    }
+
+    private SimpleMailMessage toMessage(final OutgoingMail mail) {
+        final SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(mail.getBody());
+        return message;
+    }
+
+    private static boolean isValidAddress(final String address) {
+        try {
+            new InternetAddress(address, true).validate();
+            return true;
+        } catch (AddressException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.enkarin.bookcrossing.mail.service;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.mail.model.OutgoingMail;
+import io.github.enkarin.bookcrossing.mail.repository.OutgoingMailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MailOutboxService {
+    private final OutgoingMailRepository outgoingMailRepository;
+    private final TimeSettings timeSettings;
+
+    @Transactional
+    public void enqueue(final int userId, final String recipient, final String subject, final String body) {
+        final long now = timeSettings.getEpochSeconds();
+        final OutgoingMail mail = new OutgoingMail();
+        mail.setUserId(userId);
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setAvailableAt(now);
+        mail.setCreatedAt(now);
+        outgoingMailRepository.save(mail);
+    }
+
+    /**
+     * Забирает письма на отправку на время lease. Если отправитель не успеет отчитаться за это время,
+     * письма снова станут доступны.
+     */
+    @Transactional
+    public List<OutgoingMail> claim(final int limit, final Duration lease) {
+        final long now = timeSettings.getEpochSeconds();
+        final List<OutgoingMail> mails = outgoingMailRepository.findDueForUpdate(now, limit);
+        mails.forEach(mail -> {
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setAvailableAt(now + lease.toSeconds());
+        });
+        return mails;
+    }
+
+    @Transactional
+    public void delete(final List<Long> mailIds) {
+        outgoingMailRepository.deleteAllByIdInBatch(mailIds);
+    }
+
+    @Transactional
+    public void postpone(final long mailId, final long availableAt) {
+        outgoingMailRepository.postpone(mailId, availableAt);
+    }
+
+    public long countPending() {
+        return outgoingMailRepository.count();
+    }
+}
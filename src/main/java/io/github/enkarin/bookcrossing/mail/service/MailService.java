@@ -1,5 +1,6 @@
 package io.github.enkarin.bookcrossing.mail.service;
 
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
 import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.mail.enums.ApproveType;
 import io.github.enkarin.bookcrossing.mail.model.ActionMailUser;
@@ -8,32 +9,38 @@ import io.github.enkarin.bookcrossing.user.model.User;
 import io.github.enkarin.bookcrossing.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import javax.annotation.Nonnull;
+import java.time.Duration;
 import java.util.UUID;
 
+/**
+ * Формирует письма пользователям. Письма записываются в очередь в текущей транзакции
+ * и отправляются {@link MailOutboxDispatcher} после её фиксации.
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class MailService {
 
-    private final JavaMailSender emailSender;
+    private final MailOutboxService mailOutboxService;
     private final ActionMailUserRepository confirmationMailUserRepository;
     private final UserRepository userRepository;
+    private final TimeSettings timeSettings;
 
     @Value("${server.port}")
     private String port;
 
-    @Value("${spring.mail.from}")
-    private String fromEmail;
-
     @Value("${server.host}")
     private String host;
 
+    @Value("${mail.tokens.confirmation-ttl}")
+    private Duration confirmationTtl;
+
+    @Value("${mail.tokens.reset-ttl}")
+    private Duration resetTtl;
+
     @Transactional
     public void sendApproveMail(final User user) {
         final String token = UUID.randomUUID().toString();
@@ -41,13 +48,12 @@ public class MailService {
         confirmationMailUser.setUser(user);
         confirmationMailUser.setConfirmationMail(token);
         confirmationMailUser.setType(ApproveType.MAIL);
+        confirmationMailUser.setExpiresAt(timeSettings.getEpochSeconds() + confirmationTtl.toSeconds());
         confirmationMailUserRepository.save(confirmationMailUser);
 
-        final var message = prepareMailMessage(user.getEmail());
-        message.setSubject("Подтверждение регистрации BookCrossing");
-        message.setText("Перейдите по ссылке, чтобы подтвердить создание аккаунта: " +
-            String.format("https://%s:%s/registration/confirmation?token=%s", host, port, token));
-        emailSender.send(message);
+        mailOutboxService.enqueue(user.getUserId(), user.getEmail(), "Подтверждение регистрации BookCrossing",
+            "Перейдите по ссылке, чтобы подтвердить создание аккаунта: " +
+                String.format("https://%s:%s/registration/confirmation?token=%s", host, port, token));
     }
 
     @Transactional
@@ -58,41 +64,29 @@ public class MailService {
         confirmationMailUser.setUser(user);
         confirmationMailUser.setConfirmationMail(token);
         confirmationMailUser.setType(ApproveType.RESET);
+        confirmationMailUser.setExpiresAt(timeSettings.getEpochSeconds() + resetTtl.toSeconds());
         confirmationMailUserRepository.save(confirmationMailUser);
 
-        final var message = prepareMailMessage(email);
-        message.setSubject("Сброс пароля BookCrossing");
-        message.setText("Перейдите по ссылке, чтобы сменить пароль: " +
-            String.format("https://localhost:%s/reset/update?token=%s", port, token));
-        emailSender.send(message);
+        mailOutboxService.enqueue(user.getUserId(), email, "Сброс пароля BookCrossing",
+            "Перейдите по ссылке, чтобы сменить пароль: " +
+                String.format("https://localhost:%s/reset/update?token=%s", port, token));
     }
 
+    @Transactional
     public void sendBlockingMessage(final User user, final String comment) {
-        final var message = prepareMailMessage(user.getEmail());
-        message.setSubject("Ваш аккаунт заблокирован");
-        message.setText("Аккаунт на сервисе BookCrossing был заблокирован администратором. Причина:" + comment);
-        emailSender.send(message);
+        mailOutboxService.enqueue(user.getUserId(), user.getEmail(), "Ваш аккаунт заблокирован",
+            "Аккаунт на сервисе BookCrossing был заблокирован администратором. Причина:" + comment);
     }
 
+    @Transactional
     public void sendUnlockMessage(final User user) {
-        final var message = prepareMailMessage(user.getEmail());
-        message.setSubject("Ваш аккаунт разблокирован");
-        message.setText("Аккаунт на сервисе BookCrossing был разблокирован.");
-        emailSender.send(message);
-    }
-
-    public void sendAlertsMessage(final User user, final int count) {
-        final var message = prepareMailMessage(user.getEmail());
-        message.setSubject("Непрочитанные сообщения");
-        message.setText(String.format("В вашем аккаунте есть непрочитанные сообщения: %s", count));
-        emailSender.send(message);
+        mailOutboxService.enqueue(user.getUserId(), user.getEmail(), "Ваш аккаунт разблокирован",
+            "Аккаунт на сервисе BookCrossing был разблокирован.");
     }
 
-    @Nonnull
-    private SimpleMailMessage prepareMailMessage(@Nonnull final String toEmail) {
-        final SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(toEmail);
-        message.setFrom(fromEmail);
-        return message;
+    @Transactional
+    public void sendAlertsMessage(final int userId, final String email, final int count) {
+        mailOutboxService.enqueue(userId, email, "Непрочитанные сообщения",
+            String.format("В вашем аккаунте есть непрочитанные сообщения: %s", count));
     }
 }
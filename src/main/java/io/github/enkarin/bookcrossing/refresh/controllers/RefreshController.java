@@ -2,7 +2,9 @@ package io.github.enkarin.bookcrossing.refresh.controllers;
 
 import io.github.enkarin.bookcrossing.constant.Constant;
 import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.exception.LockedAccountException;
 import io.github.enkarin.bookcrossing.exception.RefreshTokenInvalidException;
+import io.github.enkarin.bookcrossing.exception.RefreshTokenReusedException;
 import io.github.enkarin.bookcrossing.exception.TokenNotFoundException;
 import io.github.enkarin.bookcrossing.refresh.service.RefreshService;
 import io.github.enkarin.bookcrossing.registration.dto.AuthResponse;
@@ -45,12 +47,15 @@ public class RefreshController {
         description = "Выдает токены, если refresh корректен"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "410", description = "Токен истек",
+        @ApiResponse(responseCode = "410", description = "Токен истек или уже использован",
             content = {@Content(mediaType = Constant.MEDIA_TYPE,
                 schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
         @ApiResponse(responseCode = "404", description = "Токена не существует",
             content = {@Content(mediaType = Constant.MEDIA_TYPE,
                 schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
+        @ApiResponse(responseCode = "403", description = "Аккаунт заблокирован",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE,
+                schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
         @ApiResponse(responseCode = "200", description = "Возвращает токены",
             content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(implementation = AuthResponse.class))}, headers = @Header(name = "Set-Cookie", description = "refresh token")
         )}
@@ -77,4 +82,16 @@ public class RefreshController {
     public Map<String, String> tokenInvalid() {
         return createErrorMap(ErrorMessage.ERROR_2002);
     }
+
+    @ResponseStatus(HttpStatus.GONE)
+    @ExceptionHandler(RefreshTokenReusedException.class)
+    public Map<String, String> tokenReused() {
+        return createErrorMap(ErrorMessage.ERROR_2013);
+    }
+
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    @ExceptionHandler(LockedAccountException.class)
+    public Map<String, String> lockedUser() {
+        return createErrorMap(ErrorMessage.ERROR_1001);
+    }
 }
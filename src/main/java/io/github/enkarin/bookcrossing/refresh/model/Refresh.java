@@ -23,6 +23,8 @@ public class Refresh {
     @Column(name = "r_user")
     private String user;
 
+    private String previousRefreshId;
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
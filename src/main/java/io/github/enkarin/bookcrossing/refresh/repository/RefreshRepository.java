@@ -2,10 +2,49 @@ package io.github.enkarin.bookcrossing.refresh.repository;
 
 import io.github.enkarin.bookcrossing.refresh.model.Refresh;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Optional;
 
 public interface RefreshRepository extends JpaRepository<Refresh, String> {
 
-    Optional<Refresh> findByUser(String user);
+    Optional<Refresh> findByPreviousRefreshId(String previousRefreshId);
+
+    /**
+     * Отмечает дату входа пользователя и записывает ему новый токен вместо прежнего одним запросом.
+     *
+     * @return логин или пустой Optional, если пользователя нет
+     */
+    @Query(value = """
+        WITH u AS (UPDATE bookcrossing.t_user SET login_date = ?2 WHERE login = ?1 RETURNING login)
+        INSERT INTO bookcrossing.t_refresh AS r (refresh_id, date, r_user) SELECT ?3, ?4, u.login FROM u
+        ON CONFLICT (r_user) DO UPDATE SET refresh_id = excluded.refresh_id, date = excluded.date, previous_refresh_id = NULL
+        RETURNING r.r_user""", nativeQuery = true)
+    Optional<String> issue(String login, long now, String refreshId, long date);
+
+    /**
+     * Заменяет действующий токен новым, запоминает прежний и отмечает дату входа владельца одним запросом.
+     *
+     * @return логин владельца или пустой Optional, если токен не найден или истёк
+     */
+    @Query(value = """
+        WITH rotated AS (
+            UPDATE bookcrossing.t_refresh SET refresh_id = ?2, date = ?3, previous_refresh_id = refresh_id
+            WHERE refresh_id = ?1 AND date >= ?4
+            RETURNING r_user)
+        UPDATE bookcrossing.t_user u SET login_date = ?4 FROM rotated WHERE u.login = rotated.r_user
+        RETURNING u.login""", nativeQuery = true)
+    Optional<String> rotate(String refreshId, String newRefreshId, long date, long now);
+
+    /**
+     * Удаляет не больше limit истёкших токенов, пропуская строки, заблокированные другими транзакциями.
+     *
+     * @return количество удалённых токенов
+     */
+    @Modifying
+    @Query(value = """
+        DELETE FROM bookcrossing.t_refresh WHERE ctid = ANY(ARRAY(
+            SELECT ctid FROM bookcrossing.t_refresh WHERE date < ?1 LIMIT ?2 FOR UPDATE SKIP LOCKED))""", nativeQuery = true)
+    int deleteExpired(long now, int limit);
 }
@@ -0,0 +1,72 @@
+package io.github.enkarin.bookcrossing.refresh.service;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.exception.RefreshTokenInvalidException;
+import io.github.enkarin.bookcrossing.exception.RefreshTokenReusedException;
+import io.github.enkarin.bookcrossing.exception.TokenNotFoundException;
+import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
+import io.github.enkarin.bookcrossing.refresh.model.Refresh;
+import io.github.enkarin.bookcrossing.refresh.repository.RefreshRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Хранит по одному токену обновления на пользователя. Выдача и замена токена выполняются одним запросом.
+ * Заменённый токен запоминается: если его предъявят снова, значит, его копия есть у кого-то ещё,
+ * поэтому токен пользователя отзывается и нужно войти заново.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "refresh.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+    private final RefreshRepository refreshRepository;
+    private final TimeSettings timeSettings;
+    private final long ttlSeconds;
+
+    public DatabaseRefreshTokenStore(final RefreshRepository refreshRepository,
+                                     final TimeSettings timeSettings,
+                                     @Value("${refresh.ttl}") final Duration ttl) {
+        this.refreshRepository = refreshRepository;
+        this.timeSettings = timeSettings;
+        this.ttlSeconds = ttl.toSeconds();
+    }
+
+    @Override
+    @Transactional
+    public String issue(final String login) {
+        final String token = UUID.randomUUID().toString();
+        final long now = timeSettings.getEpochSeconds();
+        refreshRepository.issue(login, now, token, now + ttlSeconds).orElseThrow(UserNotFoundException::new);
+        return token;
+    }
+
+    @Override
+    @Transactional(noRollbackFor = {RefreshTokenInvalidException.class, RefreshTokenReusedException.class})
+    public RotatedRefreshToken rotate(final String token) {
+        final String newToken = UUID.randomUUID().toString();
+        final long now = timeSettings.getEpochSeconds();
+        final Optional<String> login = refreshRepository.rotate(token, newToken, now + ttlSeconds, now);
+        if (login.isPresent()) {
+            return new RotatedRefreshToken(login.get(), newToken);
+        }
+        final Optional<Refresh> expired = refreshRepository.findById(token);
+        if (expired.isPresent()) {
+            refreshRepository.delete(expired.get());
+            throw new RefreshTokenInvalidException();
+        }
+        final Optional<Refresh> reused = refreshRepository.findByPreviousRefreshId(token);
+        if (reused.isPresent()) {
+            log.warn("Replaced refresh token of user {} was presented again, the token is revoked", reused.get().getUser());
+            refreshRepository.delete(reused.get());
+            throw new RefreshTokenReusedException();
+        }
+        throw new TokenNotFoundException();
+    }
+}
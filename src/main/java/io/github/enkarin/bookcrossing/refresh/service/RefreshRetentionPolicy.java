@@ -0,0 +1,27 @@
+package io.github.enkarin.bookcrossing.refresh.service;
+
+import io.github.enkarin.bookcrossing.refresh.repository.RefreshRepository;
+import io.github.enkarin.bookcrossing.schedulingtasks.RetentionPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Удаляет истёкшие токены обновления, которые больше никто не предъявит.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshRetentionPolicy implements RetentionPolicy {
+    private final RefreshRepository refreshRepository;
+
+    @Override
+    public String getName() {
+        return "refresh-tokens";
+    }
+
+    @Override
+    @Transactional
+    public int purge(final long now, final int limit) {
+        return refreshRepository.deleteExpired(now, limit);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.enkarin.bookcrossing.refresh.service;
+
+/**
+ * Выдаёт и заменяет токены обновления.
+ * Реализация выбирается свойством refresh.store: database хранит по одному токену на пользователя в t_refresh,
+ * signed выдаёт подписанные токены, которые проверяются без обращения к базе данных.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Выдаёт пользователю новый токен вместо прежнего и отмечает дату входа.
+     */
+    String issue(String login);
+
+    /**
+     * Заменяет действующий токен новым.
+     */
+    RotatedRefreshToken rotate(String token);
+}
@@ -0,0 +1,4 @@
+package io.github.enkarin.bookcrossing.refresh.service;
+
+public record RotatedRefreshToken(String login, String token) {
+}
@@ -0,0 +1,56 @@
+package io.github.enkarin.bookcrossing.refresh.service;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.exception.RefreshTokenInvalidException;
+import io.github.enkarin.bookcrossing.exception.TokenNotFoundException;
+import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
+import io.github.enkarin.bookcrossing.security.jwt.JwtProvider;
+import io.github.enkarin.bookcrossing.security.jwt.RefreshTokenClaims;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+/**
+ * Выдаёт подписанные токены обновления, замена которых не обращается к базе данных.
+ * Такой токен нельзя отозвать до истечения срока, а повторное предъявление заменённого токена не обнаруживается.
+ */
+@Service
+@ConditionalOnProperty(name = "refresh.store", havingValue = "signed")
+public class SignedRefreshTokenStore implements RefreshTokenStore {
+    private final JwtProvider jwtProvider;
+    private final UserRepository userRepository;
+    private final TimeSettings timeSettings;
+    private final Duration ttl;
+
+    public SignedRefreshTokenStore(final JwtProvider jwtProvider,
+                                   final UserRepository userRepository,
+                                   final TimeSettings timeSettings,
+                                   @Value("${refresh.ttl}") final Duration ttl) {
+        this.jwtProvider = jwtProvider;
+        this.userRepository = userRepository;
+        this.timeSettings = timeSettings;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public String issue(final String login) {
+        if (userRepository.updateLoginDate(login, timeSettings.getEpochSeconds()) == 0) {
+            throw new UserNotFoundException();
+        }
+        return jwtProvider.generateRefreshToken(login, ttl);
+    }
+
+    @Override
+    public RotatedRefreshToken rotate(final String token) {
+        final RefreshTokenClaims claims = jwtProvider.parseRefreshToken(token).orElseThrow(TokenNotFoundException::new);
+        if (claims.expiresAt().isBefore(timeSettings.instantNow())) {
+            throw new RefreshTokenInvalidException();
+        }
+        return new RotatedRefreshToken(claims.login(), jwtProvider.generateRefreshToken(claims.login(), ttl));
+    }
+}
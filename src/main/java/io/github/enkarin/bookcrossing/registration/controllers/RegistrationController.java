@@ -10,9 +10,11 @@ import io.github.enkarin.bookcrossing.exception.LockedAccountException;
 import io.github.enkarin.bookcrossing.exception.LoginFailedException;
 import io.github.enkarin.bookcrossing.exception.PasswordsDontMatchException;
 import io.github.enkarin.bookcrossing.exception.TokenNotFoundException;
+import io.github.enkarin.bookcrossing.exception.TooManyLoginAttemptsException;
 import io.github.enkarin.bookcrossing.registration.dto.AuthResponse;
 import io.github.enkarin.bookcrossing.registration.dto.LoginRequest;
 import io.github.enkarin.bookcrossing.registration.dto.UserRegistrationDto;
+import io.github.enkarin.bookcrossing.security.password.LoginThrottle;
 import io.github.enkarin.bookcrossing.user.dto.UserDto;
 import io.github.enkarin.bookcrossing.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +37,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.LinkedList;
 import java.util.List;
@@ -51,6 +54,7 @@ import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
 @RequiredArgsConstructor
 public class RegistrationController {
     private final UserService userService;
+    private final LoginThrottle loginThrottle;
 
     @Operation(
         summary = "Регистрация пользователя",
@@ -86,13 +90,15 @@ public class RegistrationController {
             content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
         @ApiResponse(responseCode = "403", description = "Аккаунт не подтвержден или заблокирован",
             content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
+        @ApiResponse(responseCode = "429", description = "Слишком много неудачных попыток входа или сервер перегружен",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))}),
         @ApiResponse(responseCode = "200", description = "Возвращает токены",
             content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(implementation = AuthResponse.class))}, headers = @Header(name = "Set-Cookie", description = "refresh token")
         )}
     )
     @PostMapping("/auth")
-    public ResponseEntity<AuthResponse> auth(@RequestBody final LoginRequest request) {
-        final AuthResponse auth = userService.findByLoginAndPassword(request);
+    public ResponseEntity<AuthResponse> auth(@RequestBody final LoginRequest request, final HttpServletRequest httpRequest) {
+        final AuthResponse auth = loginThrottle.attempt(request.getLogin(), httpRequest.getRemoteAddr(), () -> userService.findByLoginAndPassword(request));
         return ResponseEntity.ok()
             .header(HttpHeaders.SET_COOKIE, configureRefreshTokenCookie(auth.getRefreshToken()))
             .body(auth);
@@ -157,4 +163,10 @@ public class RegistrationController {
     public Map<String, String> passwordInvalid() {
         return createErrorMap(ErrorMessage.ERROR_1007);
     }
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public Map<String, String> tooManyLoginAttempts() {
+        return createErrorMap(ErrorMessage.ERROR_1019);
+    }
 }
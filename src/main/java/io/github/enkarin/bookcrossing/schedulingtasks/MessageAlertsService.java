@@ -1,48 +1,57 @@
 package io.github.enkarin.bookcrossing.schedulingtasks;
 
-import io.github.enkarin.bookcrossing.chat.model.Message;
-import io.github.enkarin.bookcrossing.mail.service.MailService;
-import io.github.enkarin.bookcrossing.user.model.User;
-import lombok.RequiredArgsConstructor;
+import io.github.enkarin.bookcrossing.chat.repository.MessageAlertView;
+import io.github.enkarin.bookcrossing.job.service.ScheduledJob;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-@Service
+/**
+ * Оповещает пользователей о непрочитанных сообщениях. Получатели обрабатываются порциями по chat.alerts.chunk-size:
+ * письма порции ставятся в очередь отправки и сообщения отмечаются одним запросом в общей транзакции.
+ * Сообщения, отправленные после начала обхода, дождутся следующего запуска.
+ * Расписание задаётся свойством jobs.message-alerts.cron.
+ */
 @Slf4j
-@RequiredArgsConstructor
-public class MessageAlertsService {
-    private final MailService mailService;
+@Service
+public class MessageAlertsService implements ScheduledJob {
     private final MessageAlertsServiceHelper messageAlertsServiceHelper;
+    private final int chunkSize;
+
+    public MessageAlertsService(final MessageAlertsServiceHelper messageAlertsServiceHelper,
+                                @Value("${chat.alerts.chunk-size}") final int chunkSize) {
+        this.messageAlertsServiceHelper = messageAlertsServiceHelper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public String getName() {
+        return "message-alerts";
+    }
+
+    @Override
+    public int run() {
+        return sendAlerts();
+    }
 
-    @Scheduled(cron = "0 */30 * * * *")
-    public void sendAlerts() {
-        final Map<User, Integer> map = new HashMap<>();
-        final List<Message> unread = messageAlertsServiceHelper.findUnreadMessages();
-        if (!unread.isEmpty()) {
-            User user;
-            for (final Message message : unread) {
-                user = message.getCorrespondence().getUsersCorrKey().getFirstUser();
-                if (user.equals(message.getSender())) {
-                    user = message.getCorrespondence().getUsersCorrKey().getSecondUser();
-                    if (!user.equals(message.getSender())) {
-                        map.putIfAbsent(user, 0);
-                        map.put(user, map.get(user) + 1);
-                    }
-                } else {
-                    map.putIfAbsent(user, 0);
-                    map.put(user, map.get(user) + 1);
-                }
-            }
-            for (final Map.Entry<User, Integer> entry : map.entrySet()) {
-                log.info("Sending alert for userId {}", entry.getKey().getUserId());
-                mailService.sendAlertsMessage(entry.getKey(), entry.getValue());
-            }
-            messageAlertsServiceHelper.setAlertSent(unread);
+    /**
+     * Отправляет оповещения о непрочитанных сообщениях.
+     *
+     * @return количество оповещённых пользователей
+     */
+    public int sendAlerts() {
+        final long lastMessageId = messageAlertsServiceHelper.findLastMessageId();
+        int sent = 0;
+        List<MessageAlertView> alerts = messageAlertsServiceHelper.findAlerts(-1, lastMessageId, chunkSize);
+        while (!alerts.isEmpty()) {
+            alerts.forEach(alert -> log.info("Sending alert for userId {}", alert.getUserId()));
+            messageAlertsServiceHelper.sendAlerts(alerts, lastMessageId);
+            sent += alerts.size();
+            alerts = alerts.size() < chunkSize ? List.of() :
+                messageAlertsServiceHelper.findAlerts(alerts.get(alerts.size() - 1).getUserId(), lastMessageId, chunkSize);
         }
+        return sent;
     }
 }
@@ -1,13 +1,13 @@
 package io.github.enkarin.bookcrossing.schedulingtasks;
 
-import io.github.enkarin.bookcrossing.chat.model.Message;
+import io.github.enkarin.bookcrossing.chat.repository.MessageAlertView;
 import io.github.enkarin.bookcrossing.chat.repository.MessageRepository;
+import io.github.enkarin.bookcrossing.mail.service.MailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -15,21 +15,22 @@ import java.util.function.Predicate;
 public class MessageAlertsServiceHelper {
 
     private final MessageRepository messageRepository;
+    private final MailService mailService;
 
-    public List<Message> findUnreadMessages() {
-        return messageRepository.findAll().stream()
-            .filter(Predicate.not(Message::isDeclaim))
-            .filter(Predicate.not(Message::isAlertSent))
-            .filter(m -> m.getCorrespondence().getUsersCorrKey().getFirstUser().isAccountNonLocked())
-            .filter(m -> m.getCorrespondence().getUsersCorrKey().getSecondUser().isAccountNonLocked())
-            .filter(m -> m.getCorrespondence().getUsersCorrKey().getFirstUser().isEnabled())
-            .filter(m -> m.getCorrespondence().getUsersCorrKey().getSecondUser().isEnabled())
-            .toList();
+    public long findLastMessageId() {
+        return messageRepository.findLastMessageId();
     }
 
+    public List<MessageAlertView> findAlerts(final int afterUserId, final long lastMessageId, final int chunkSize) {
+        return messageRepository.findAlerts(afterUserId, lastMessageId, chunkSize);
+    }
+
+    /**
+     * Ставит письма-оповещения в очередь отправки и отмечает сообщения получателей в одной транзакции.
+     */
     @Transactional
-    public void setAlertSent(final List<Message> unread) {
-        unread.forEach(m -> m.setAlertSent(true));
-        messageRepository.saveAllAndFlush(unread);
+    public void sendAlerts(final List<MessageAlertView> alerts, final long lastMessageId) {
+        alerts.forEach(alert -> mailService.sendAlertsMessage(alert.getUserId(), alert.getEmail(), alert.getUnreadQuantity()));
+        messageRepository.markAlertSent(alerts.stream().map(MessageAlertView::getUserId).toList(), lastMessageId);
     }
 }
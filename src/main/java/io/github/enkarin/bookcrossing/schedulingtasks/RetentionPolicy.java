@@ -0,0 +1,16 @@
+package io.github.enkarin.bookcrossing.schedulingtasks;
+
+/**
+ * Правило удаления устаревших записей одной таблицы, которое выполняет {@link RetentionService}.
+ */
+public interface RetentionPolicy {
+
+    String getName();
+
+    /**
+     * Удаляет в отдельной транзакции не больше limit записей, устаревших к моменту now.
+     *
+     * @return количество удалённых записей
+     */
+    int purge(long now, int limit);
+}
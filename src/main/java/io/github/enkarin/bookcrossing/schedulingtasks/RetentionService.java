@@ -0,0 +1,70 @@
+package io.github.enkarin.bookcrossing.schedulingtasks;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.job.service.ScheduledJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Удаляет устаревшие записи по всем {@link RetentionPolicy}. Каждая порция из retention.batch-size строк удаляется
+ * в своей короткой транзакции, поэтому блокировки не удерживаются долго. За один запуск правило удаляет не больше
+ * retention.max-batches порций, остаток дождётся следующего запуска.
+ * Расписание задаётся свойством jobs.retention.cron.
+ */
+@Slf4j
+@Service
+public class RetentionService implements ScheduledJob {
+    private final List<RetentionPolicy> policies;
+    private final TimeSettings timeSettings;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public RetentionService(final List<RetentionPolicy> policies,
+                            final TimeSettings timeSettings,
+                            final MeterRegistry meterRegistry,
+                            @Value("${retention.batch-size}") final int batchSize,
+                            @Value("${retention.max-batches}") final int maxBatches) {
+        this.policies = policies;
+        this.timeSettings = timeSettings;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Override
+    public String getName() {
+        return "retention";
+    }
+
+    /**
+     * Применяет все правила хранения.
+     *
+     * @return общее количество удалённых записей
+     */
+    @Override
+    public int run() {
+        final long now = timeSettings.getEpochSeconds();
+        return policies.stream()
+            .mapToInt(policy -> purge(policy, now))
+            .sum();
+    }
+
+    private int purge(final RetentionPolicy policy, final long now) {
+        int deleted = 0;
+        int batches = 0;
+        int batch;
+        do {
+            batch = policy.purge(now, batchSize);
+            deleted += batch;
+            batches++;
+        } while (batch == batchSize && batches < maxBatches);
+        meterRegistry.counter("retention.deleted", "policy", policy.getName()).increment(deleted);
+        log.info("Retention policy {} deleted {} rows", policy.getName(), deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.enkarin.bookcrossing.security.jwt;
+
+import java.util.List;
+
+/**
+ * Проверенное содержимое токена доступа.
+ *
+ * @param userId       идентификатор пользователя
+ * @param login        логин пользователя
+ * @param roles        роли пользователя на момент выдачи токена
+ * @param tokenVersion версия токенов пользователя на момент выдачи
+ */
+public record AccessTokenClaims(int userId, String login, List<String> roles, int tokenVersion) {
+}
@@ -1,10 +1,9 @@
 package io.github.enkarin.bookcrossing.security.jwt;
 
-import io.github.enkarin.bookcrossing.user.service.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.GenericFilterBean;
 
@@ -14,39 +13,38 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.util.NoSuchElementException;
-
-import static org.springframework.util.StringUtils.hasText;
 
+/**
+ * Аутентифицирует запрос по токену доступа. Логин и роли берутся из токена, поэтому запрос не обращается
+ * к базе данных: изменение ролей вступает в силу с выдачей следующего токена. Токены, выданные до блокировки
+ * пользователя или смены пароля, отклоняются по списку {@link TokenRevocations}.
+ */
 @Component
 @RequiredArgsConstructor
 public class JwtFilter extends GenericFilterBean {
     public static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
 
     private final JwtProvider jwtProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocations tokenRevocations;
 
     @Override
     public void doFilter(final ServletRequest servletRequest, final ServletResponse servletResponse, final FilterChain filterChain) throws IOException, ServletException {
         final String token = getTokenFromRequest((HttpServletRequest) servletRequest);
-        if (token != null && jwtProvider.validateToken(token)) {
-            try {
-                final String userLogin = jwtProvider.getLoginFromToken(token);
-                final UserDetails user = customUserDetailsService.loadUserByUsername(userLogin);
-                final UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user,
-                    null, user.getAuthorities());
+        if (token != null) {
+            jwtProvider.parseToken(token).filter(claims -> !tokenRevocations.isRevoked(claims)).ifPresent(claims -> {
+                final UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(claims.login(),
+                    null, claims.roles().stream().map(SimpleGrantedAuthority::new).toList());
                 SecurityContextHolder.getContext().setAuthentication(auth);
-            } catch (NoSuchElementException ignored) {
-                // no handling
-            }
+            });
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
     private String getTokenFromRequest(final HttpServletRequest request) {
         final String bearer = request.getHeader(AUTHORIZATION);
-        if (hasText(bearer) && bearer.startsWith("Bearer ")) {
-            return bearer.substring(7);
+        if (bearer != null && bearer.length() > BEARER.length() && bearer.startsWith(BEARER)) {
+            return bearer.substring(BEARER.length());
         }
         return null;
     }
@@ -3,47 +3,197 @@ package io.github.enkarin.bookcrossing.security.jwt;
 import io.github.enkarin.bookcrossing.configuration.TimeSettings;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.SigningKeyResolver;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
-@Component
+/**
+ * Выпускает и проверяет JWT. Ключ HS512 получается из секрета через SHA-512, поэтому короткий секрет
+ * не приводит к отказу в подписи. Токены подписываются ключом из jwt.secret, в заголовке kid указывается
+ * отпечаток ключа. Токены, подписанные ключами из jwt.previous-secrets, принимаются до истечения срока,
+ * поэтому секрет можно сменить без повторного входа пользователей.
+ * Ключи и парсер создаются один раз при запуске и используются всеми потоками.
+ * Токен доступа содержит идентификатор, роли и версию токенов пользователя, по которой {@link TokenRevocations} отзывает
+ * токены, выданные до блокировки или смены пароля.
+ */
 @Slf4j
-@RequiredArgsConstructor
-public class JwtProvider {
+@Component
+public final class JwtProvider {
+    private static final String REFRESH_AUDIENCE = "refresh";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String VERSION_CLAIM = "ver";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final Duration ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
+    private static final int KEY_ID_LENGTH = 9;
+
     private final TimeSettings timeSettings;
+    private final SecretKey signingKey;
+    private final String keyId;
+    private final JwtParser parser;
+
+    public JwtProvider(final TimeSettings timeSettings,
+                       @Value("${jwt.secret}") final String secret,
+                       @Value("${jwt.previous-secrets:}") final String... previousSecrets) {
+        this.timeSettings = timeSettings;
+        signingKey = deriveKey(secret);
+        keyId = keyId(signingKey);
+        final Map<String, SecretKey> keys = new HashMap<>();
+        keys.put(keyId, signingKey);
+        Arrays.stream(previousSecrets)
+            .filter(previous -> !previous.isBlank())
+            .map(JwtProvider::deriveKey)
+            .forEach(key -> keys.putIfAbsent(keyId(key), key));
+        parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new KeyIdResolver(Map.copyOf(keys)))
+            .setClock(() -> Date.from(timeSettings.instantNow()))
+            .build();
+    }
 
-    @Value("$(jwt.secret)")
-    private String jwtSecret;
+    public String generateToken(final int userId, final String login, final Collection<String> roles, final int tokenVersion) {
+        return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, keyId)
+            .setSubject(login)
+            .claim(USER_ID_CLAIM, userId)
+            .claim(ROLES_CLAIM, roles)
+            .claim(VERSION_CLAIM, tokenVersion)
+            .setExpiration(Date.from(timeSettings.instantNow().plus(ACCESS_TOKEN_TTL)))
+            .signWith(signingKey, SignatureAlgorithm.HS512)
+            .compact();
+    }
 
-    public String generateToken(final String login) {
-        final Date date = Date.from(timeSettings.dateTimeNow().plusMinutes(15).toInstant(timeSettings.offset()));
+    /**
+     * Создаёт подписанный токен обновления, который нельзя использовать как токен доступа.
+     */
+    public String generateRefreshToken(final String login, final Duration ttl) {
         return Jwts.builder()
+            .setHeaderParam(JwsHeader.KEY_ID, keyId)
             .setSubject(login)
-            .setExpiration(date)
-            .signWith(SignatureAlgorithm.HS512, jwtSecret)
+            .setAudience(REFRESH_AUDIENCE)
+            .setExpiration(Date.from(timeSettings.instantNow().plus(ttl)))
+            .signWith(signingKey, SignatureAlgorithm.HS512)
             .compact();
     }
 
+    public Duration getAccessTokenTtl() {
+        return ACCESS_TOKEN_TTL;
+    }
+
     public boolean validateToken(final String token) {
+        return parseToken(token).isPresent();
+    }
+
+    /**
+     * Проверяет подпись и срок действия токена доступа.
+     *
+     * @return содержимое токена или пустой Optional, если токен недействителен
+     */
+    public Optional<AccessTokenClaims> parseToken(final String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody())
+                .filter(claims -> !REFRESH_AUDIENCE.equals(claims.getAudience()))
+                .filter(claims -> claims.get(USER_ID_CLAIM, Integer.class) != null)
+                .map(claims -> new AccessTokenClaims(claims.get(USER_ID_CLAIM, Integer.class), claims.getSubject(), getRoles(claims), getTokenVersion(claims)));
         } catch (ExpiredJwtException expEx) {
             log.error("Token expired");
-        } catch (Exception e) {
+        } catch (JwtException | IllegalArgumentException e) {
             log.error("invalid token");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Проверяет подпись токена обновления. Срок действия проверяет вызывающий, чтобы отличить истёкший токен от поддельного.
+     *
+     * @return содержимое токена или пустой Optional, если подпись неверна или это не токен обновления
+     */
+    public Optional<RefreshTokenClaims> parseRefreshToken(final String token) {
+        Optional<Claims> claims;
+        try {
+            claims = Optional.of(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException expEx) {
+            claims = Optional.of(expEx.getClaims());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("invalid refresh token");
+            claims = Optional.empty();
+        }
+        return claims
+            .filter(c -> REFRESH_AUDIENCE.equals(c.getAudience()))
+            .map(c -> new RefreshTokenClaims(c.getSubject(), c.getExpiration().toInstant()));
+    }
+
+    private static List<String> getRoles(final Claims claims) {
+        final List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        return roles == null ? List.of() : roles.stream().map(String::valueOf).toList();
+    }
+
+    private static int getTokenVersion(final Claims claims) {
+        final Integer version = claims.get(VERSION_CLAIM, Integer.class);
+        return version == null ? 0 : version;
+    }
+
+    private static SecretKey deriveKey(final String secret) {
+        return Keys.hmacShaKeyFor(digest("SHA-512", secret.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String keyId(final SecretKey key) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(Arrays.copyOf(digest("SHA-256", key.getEncoded()), KEY_ID_LENGTH));
+    }
+
+    private static byte[] digest(final String algorithm, final byte[] input) {
+        try {
+            return MessageDigest.getInstance(algorithm).digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    public String getLoginFromToken(final String token) {
-        final Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.getSubject();
+    private static final class KeyIdResolver implements SigningKeyResolver {
+        private final Map<String, SecretKey> keys;
+
+        KeyIdResolver(final Map<String, SecretKey> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Key resolveSigningKey(final JwsHeader header, final Claims claims) {
+            return resolveSigningKey(header);
+        }
+
+        @Override
+        public Key resolveSigningKey(final JwsHeader header, final String plaintext) {
+            return resolveSigningKey(header);
+        }
+
+        private Key resolveSigningKey(final JwsHeader header) {
+            final SecretKey key = header.getKeyId() == null ? null : keys.get(header.getKeyId());
+            if (key == null) {
+                throw new UnsupportedJwtException("Unknown signing key " + header.getKeyId());
+            }
+            return key;
+        }
     }
 }
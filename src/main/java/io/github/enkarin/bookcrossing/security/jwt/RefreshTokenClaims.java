@@ -0,0 +1,12 @@
+package io.github.enkarin.bookcrossing.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Содержимое подписанного токена обновления с проверенной подписью.
+ *
+ * @param login     логин пользователя
+ * @param expiresAt момент истечения токена, который может быть уже в прошлом
+ */
+public record RefreshTokenClaims(String login, Instant expiresAt) {
+}
@@ -0,0 +1,70 @@
+package io.github.enkarin.bookcrossing.security.jwt;
+
+import io.github.enkarin.bookcrossing.cluster.ClusterEventBus;
+import io.github.enkarin.bookcrossing.cluster.ClusterResyncEvent;
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.user.event.TokensRevokedEvent;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Список отзывов токенов доступа в памяти приложения, чтобы проверка токена не обращалась к базе данных.
+ * Токен отозван, если его версия меньше версии, записанной при блокировке пользователя, смене пароля или удалении.
+ * Отзывы рассылаются через {@link ClusterEventBus} после фиксации транзакции, а раз в jwt.revocations.sync-interval
+ * и после разрыва связи между экземплярами список дополняется из t_user. Отзыв при удалении приходит только через шину:
+ * строки пользователя в t_user уже нет. Запись хранится, пока не истекут все токены доступа, выданные до отзыва.
+ */
+@Component
+public class TokenRevocations {
+    private final ConcurrentMap<Integer, TokensRevokedEvent> revocations = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final ClusterEventBus clusterEventBus;
+    private final TimeSettings timeSettings;
+    private final long retentionSeconds;
+
+    public TokenRevocations(final UserRepository userRepository,
+                            final ClusterEventBus clusterEventBus,
+                            final TimeSettings timeSettings,
+                            final JwtProvider jwtProvider) {
+        this.userRepository = userRepository;
+        this.clusterEventBus = clusterEventBus;
+        this.timeSettings = timeSettings;
+        retentionSeconds = jwtProvider.getAccessTokenTtl().toSeconds();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        clusterEventBus.subscribe(TokensRevokedEvent.class, this::revoke);
+    }
+
+    public boolean isRevoked(final AccessTokenClaims claims) {
+        final TokensRevokedEvent revocation = revocations.get(claims.userId());
+        return revocation != null && claims.tokenVersion() < revocation.tokenVersion();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(final TokensRevokedEvent event) {
+        clusterEventBus.publish(event);
+    }
+
+    @EventListener({ApplicationReadyEvent.class, ClusterResyncEvent.class})
+    @Scheduled(fixedDelayString = "${jwt.revocations.sync-interval}", initialDelayString = "${jwt.revocations.sync-interval}")
+    public void sync() {
+        final long since = timeSettings.getEpochSeconds() - retentionSeconds;
+        revocations.values().removeIf(revocation -> revocation.revokedAt() < since);
+        userRepository.findRevokedTokens(since)
+            .forEach(view -> revoke(new TokensRevokedEvent(view.getUserId(), view.getTokenVersion(), view.getTokensRevokedAt())));
+    }
+
+    private void revoke(final TokensRevokedEvent event) {
+        revocations.merge(event.userId(), event, (current, added) -> added.tokenVersion() > current.tokenVersion() ? added : current);
+    }
+}
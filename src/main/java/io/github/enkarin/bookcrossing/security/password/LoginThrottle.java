@@ -0,0 +1,64 @@
+package io.github.enkarin.bookcrossing.security.password;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.enkarin.bookcrossing.exception.InvalidPasswordException;
+import io.github.enkarin.bookcrossing.exception.TooManyLoginAttemptsException;
+import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ограничивает число неудачных попыток входа по логину и по адресу клиента, чтобы подбор пароля
+ * не доходил до хеширования. Счётчик живёт password.throttle.window с первой неудачи и сбрасывается
+ * для логина после успешного входа.
+ */
+@Component
+public class LoginThrottle {
+    private final Cache<String, AtomicInteger> failures;
+    private final int maxAttemptsPerLogin;
+    private final int maxAttemptsPerAddress;
+
+    public LoginThrottle(@Value("${password.throttle.window}") final Duration window,
+                         @Value("${password.throttle.maximum-size}") final long maximumSize,
+                         @Value("${password.throttle.max-attempts-per-login}") final int maxAttemptsPerLogin,
+                         @Value("${password.throttle.max-attempts-per-address}") final int maxAttemptsPerAddress) {
+        failures = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(window)
+            .build();
+        this.maxAttemptsPerLogin = maxAttemptsPerLogin;
+        this.maxAttemptsPerAddress = maxAttemptsPerAddress;
+    }
+
+    public <T> T attempt(final String login, final String address, final Supplier<T> authentication) {
+        final String loginKey = "login:" + login.toLowerCase(Locale.ROOT);
+        final String addressKey = "address:" + address;
+        if (countFailures(loginKey) >= maxAttemptsPerLogin || countFailures(addressKey) >= maxAttemptsPerAddress) {
+            throw new TooManyLoginAttemptsException();
+        }
+        try {
+            final T result = authentication.get();
+            failures.invalidate(loginKey);
+            return result;
+        } catch (InvalidPasswordException | UserNotFoundException e) {
+            countFailure(loginKey);
+            countFailure(addressKey);
+            throw e;
+        }
+    }
+
+    private void countFailure(final String key) {
+        failures.asMap().computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private int countFailures(final String key) {
+        final AtomicInteger count = failures.getIfPresent(key);
+        return count == null ? 0 : count.get();
+    }
+}
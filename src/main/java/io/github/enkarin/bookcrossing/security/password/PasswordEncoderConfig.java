@@ -0,0 +1,38 @@
+package io.github.enkarin.bookcrossing.security.password;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Новые пароли хешируются алгоритмом password.encoder, а проверяются любым из поддерживаемых по префиксу хеша.
+ * Хеши без префикса, сохранённые до появления выбора алгоритма, проверяются через bcrypt.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PasswordEncoderConfig {
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+    private static final int ARGON2_PARALLELISM = 1;
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${password.encoder}") final String encoder,
+                                           @Value("${password.bcrypt.strength}") final int strength,
+                                           @Value("${password.argon2.memory}") final int memory,
+                                           @Value("${password.argon2.iterations}") final int iterations) {
+        final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        final DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoder, Map.of(
+            "bcrypt", bcrypt,
+            "argon2", new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, ARGON2_PARALLELISM, memory, iterations),
+            "scrypt", new SCryptPasswordEncoder()
+        ));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+}
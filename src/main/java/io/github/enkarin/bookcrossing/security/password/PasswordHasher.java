@@ -0,0 +1,138 @@
+package io.github.enkarin.bookcrossing.security.password;
+
+import io.github.enkarin.bookcrossing.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ReflectionUtils;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Хеширует и проверяет пароли на отдельном пуле потоков по числу ядер, чтобы всплеск входов и регистраций
+ * не занимал все ядра и потоки обработки запросов.
+ * Проверки пароля при входе выполняются раньше хеширования новых паролей. Если в очереди уже
+ * password.hashing.queue-capacity задач или результат не получен за password.hashing.timeout,
+ * выбрасывается {@link PasswordHashingBusyException}, и клиент сразу получает 429.
+ */
+@Service
+public class PasswordHasher {
+    private static final int MATCH_PRIORITY = 0;
+    private static final int ENCODE_PRIORITY = 1;
+    private static final int INITIAL_QUEUE_SIZE = 16;
+    private static final Comparator<Runnable> TASK_ORDER = Comparator.comparing(task -> (HashingTask<?>) task,
+        Comparator.<HashingTask<?>>comparingInt(task -> task.priority).thenComparingLong(task -> task.sequence));
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    public PasswordHasher(final PasswordEncoder passwordEncoder,
+                          final MeterRegistry meterRegistry,
+                          @Value("${password.hashing.workers}") final int workers,
+                          @Value("${password.hashing.queue-capacity}") final int queueCapacity,
+                          @Value("${password.hashing.timeout}") final Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+        final int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(INITIAL_QUEUE_SIZE, TASK_ORDER),
+            new CustomizableThreadFactory("password-"));
+        encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        matchTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+        rejected = meterRegistry.counter("password.hash.rejected");
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(final CharSequence rawPassword) {
+        return execute(ENCODE_PRIORITY, encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return execute(MATCH_PRIORITY, matchTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Проверяет, что хеш получен другим алгоритмом или с меньшей стоимостью, чем настроены сейчас.
+     */
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T execute(final int priority, final Timer timer, final Supplier<T> hashing) {
+        if (executor.getQueue().size() >= queueCapacity) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+        final HashingTask<T> task = new HashingTask<>(priority, sequence.getAndIncrement(), () -> timer.record(hashing));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException(e);
+        }
+        return await(task);
+    }
+
+    private <T> T await(final HashingTask<T> task) {
+        try {
+            return task.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(task);
+            rejected.increment();
+            throw new PasswordHashingBusyException(e);
+        } catch (InterruptedException e) {
+            cancel(task);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException(e);
+        } catch (ExecutionException e) {
+            ReflectionUtils.rethrowRuntimeException(e.getCause());
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Убирает отменённую задачу из очереди, чтобы она не занимала место до password.hashing.queue-capacity.
+     */
+    private void cancel(final HashingTask<?> task) {
+        task.cancel(false);
+        executor.remove(task);
+    }
+
+    private static final class HashingTask<T> extends FutureTask<T> {
+        private final int priority;
+        private final long sequence;
+
+        HashingTask(final int priority, final long sequence, final Supplier<T> hashing) {
+            super(hashing::get);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Переносит изображения вложений из bytea-колонок t_attach в {@link BlobStorage} и удаляет эти колонки.
+ * Строки читаются курсором по одной, так что вся таблица не поднимается в память.
+ * Повторный запуск после сбоя безопасен: одинаковое содержимое не дублируется.
+ */
+@Slf4j
+@Component
+public class AttachmentImagesToBlobStorageMigration extends BlobStorageMigration {
+
+    public AttachmentImagesToBlobStorageMigration(final BlobStorage blobStorage) {
+        super(blobStorage, "16", "move attachment images to blob storage");
+    }
+
+    @Override
+    public void migrate(final Context context) throws Exception {
+        final Connection connection = context.getConnection();
+        int moved = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                 "update bookcrossing.t_attach set original_key = ?, list_key = ?, thumb_key = ? where attach_id = ?")) {
+            select.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = select.executeQuery("select attach_id, data, list_image, thumb_image from bookcrossing.t_attach")) {
+                while (rows.next()) {
+                    update.setString(1, store(rows, "data"));
+                    update.setString(2, store(rows, "list_image"));
+                    update.setString(3, store(rows, "thumb_image"));
+                    update.setInt(4, rows.getInt("attach_id"));
+                    update.executeUpdate();
+                    moved++;
+                }
+            }
+        }
+        try (Statement alter = connection.createStatement()) {
+            alter.execute("alter table bookcrossing.t_attach drop column data, drop column list_image, drop column thumb_image");
+        }
+        log.info("Moved images of {} attachments to blob storage", moved);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Переносит аватары пользователей из bytea-колонки t_user.avatar в {@link BlobStorage} и удаляет эту колонку.
+ */
+@Slf4j
+@Component
+public class AvatarsToBlobStorageMigration extends BlobStorageMigration {
+
+    public AvatarsToBlobStorageMigration(final BlobStorage blobStorage) {
+        super(blobStorage, "19", "move user avatars to blob storage");
+    }
+
+    @Override
+    public void migrate(final Context context) throws Exception {
+        final Connection connection = context.getConnection();
+        int moved = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement("update bookcrossing.t_user set avatar_key = ? where user_id = ?")) {
+            select.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = select.executeQuery("select user_id, avatar from bookcrossing.t_user where avatar is not null")) {
+                while (rows.next()) {
+                    update.setString(1, store(rows, "avatar"));
+                    update.setInt(2, rows.getInt("user_id"));
+                    update.executeUpdate();
+                    moved++;
+                }
+            }
+        }
+        try (Statement alter = connection.createStatement()) {
+            alter.execute("alter table bookcrossing.t_user drop column avatar");
+        }
+        log.info("Moved {} user avatars to blob storage", moved);
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Хранилище двоичных данных с адресацией по содержимому.
+ * Ключом объекта служит SHA-256 его содержимого в шестнадцатеричном виде, поэтому одинаковые файлы хранятся один раз.
+ */
+public interface BlobStorage {
+
+    /**
+     * Сохраняет содержимое потока и возвращает его ключ. Повторное сохранение того же содержимого не создаёт копию.
+     */
+    String store(InputStream content);
+
+    default String store(final byte[] content) {
+        return store(new ByteArrayInputStream(content));
+    }
+
+    /**
+     * Возвращает объект для потокового чтения. Если объекта нет, {@link Resource#exists()} вернёт false.
+     */
+    Resource load(String key);
+
+    void delete(String key);
+
+    /**
+     * Удаляет объект, если он не сохранялся повторно с указанного момента. Повторное сохранение того же содержимого,
+     * выполняемое одновременно с удалением, либо сохраняет объект, либо записывает его заново.
+     *
+     * @return true, если объект удалён
+     */
+    boolean deleteIfStoredBefore(String key, Instant moment);
+
+    /**
+     * Ключи объектов, которые не сохранялись повторно с указанного момента. Используется для сборки мусора.
+     */
+    List<String> findKeysStoredBefore(Instant moment);
+}
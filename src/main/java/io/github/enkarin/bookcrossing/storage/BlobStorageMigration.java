@@ -0,0 +1,62 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Основа Java-миграций, переносящих bytea-колонки в {@link BlobStorage}.
+ * Такие миграции регистрируются во Flyway как бины, поскольку им нужно хранилище.
+ */
+@RequiredArgsConstructor
+abstract class BlobStorageMigration implements JavaMigration {
+    protected static final int FETCH_SIZE = 16;
+
+    private final BlobStorage blobStorage;
+    private final String version;
+    private final String description;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion(version);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.EmptyMethodInAbstractClassShouldBeAbstract")
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    protected String store(final ResultSet rows, final String column) throws SQLException {
+        try (InputStream content = rows.getBinaryStream(column)) {
+            return content == null ? null : blobStorage.store(content);
+        } catch (IOException e) {
+            throw new SQLException(e);
+        }
+    }
+}
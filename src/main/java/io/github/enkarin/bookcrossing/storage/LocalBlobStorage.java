@@ -0,0 +1,146 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.exception.BlobStorageException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Хранит объекты в локальной файловой системе в виде root/ab/cd/abcd...
+ * Запись идёт во временный файл с одновременным подсчётом хэша и затем атомарно переименовывается,
+ * так что читатели никогда не видят частично записанный объект.
+ * Перед удалением сборщиком мусора объект переименовывается, и время сохранения проверяется уже у переименованного файла:
+ * повторное сохранение либо успело обновить это время, либо не находит файл и записывает объект заново.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStorage implements BlobStorage {
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final TimeSettings timeSettings;
+
+    public LocalBlobStorage(@Value("${storage.local.root}") final String root, final TimeSettings timeSettings) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.timeSettings = timeSettings;
+    }
+
+    @Override
+    public String store(final InputStream content) {
+        try {
+            Files.createDirectories(root);
+            final Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                try (InputStream in = new DigestInputStream(content, digest)) {
+                    Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                final String key = HexFormat.of().formatHex(digest.digest());
+                final Path target = resolve(key);
+                if (!touch(target)) {
+                    Files.createDirectories(Objects.requireNonNull(target.getParent(), "Blob path has no parent"));
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return key;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new BlobStorageException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public Resource load(final String key) {
+        return new FileSystemResource(resolve(key));
+    }
+
+    @Override
+    public void delete(final String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new BlobStorageException(e);
+        }
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(final String key, final Instant moment) {
+        final Path target = resolve(key);
+        final Path removed = target.resolveSibling(key + ".removed");
+        try {
+            Files.move(target, removed, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new BlobStorageException(e);
+        }
+        try {
+            if (Files.getLastModifiedTime(removed).toInstant().isBefore(moment)) {
+                Files.delete(removed);
+                return true;
+            }
+            Files.move(removed, target, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        } catch (IOException e) {
+            throw new BlobStorageException(e);
+        }
+    }
+
+    @Override
+    public List<String> findKeysStoredBefore(final Instant moment) {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.find(root, 3, (path, attributes) -> attributes.isRegularFile() &&
+            KEY_PATTERN.matcher(fileName(path)).matches() &&
+            attributes.lastModifiedTime().toInstant().isBefore(moment))) {
+            return files.map(LocalBlobStorage::fileName).toList();
+        } catch (IOException e) {
+            throw new BlobStorageException(e);
+        }
+    }
+
+    private boolean touch(final Path target) throws IOException {
+        try {
+            Files.setLastModifiedTime(target, FileTime.from(timeSettings.instantNow()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static String fileName(final Path path) {
+        final Path name = path.getFileName();
+        return name == null ? "" : name.toString();
+    }
+
+    private Path resolve(final String key) {
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+}
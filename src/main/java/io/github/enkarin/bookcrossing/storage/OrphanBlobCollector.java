@@ -0,0 +1,54 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import io.github.enkarin.bookcrossing.books.repository.AttachmentRepository;
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import io.github.enkarin.bookcrossing.job.service.ScheduledJob;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Удаляет объекты хранилища, на которые больше не ссылается ни одна запись.
+ * Проверяются только объекты старше периода ожидания: загрузка сначала сохраняет файл и лишь затем фиксирует ссылку на него,
+ * а повторная загрузка того же содержимого обновляет время сохранения. Время сохранения проверяется ещё раз при удалении,
+ * поэтому объект, повторно загруженный после проверки ссылок, не удаляется.
+ * Расписание задаётся свойством jobs.orphan-blobs.cron.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrphanBlobCollector implements ScheduledJob {
+    private final BlobStorage blobStorage;
+    private final AttachmentRepository attachmentRepository;
+    private final UserRepository userRepository;
+    private final TimeSettings timeSettings;
+
+    @Value("${storage.gc.grace-period}")
+    private Duration gracePeriod;
+
+    @Override
+    public String getName() {
+        return "orphan-blobs";
+    }
+
+    @Override
+    public int run() {
+        final Instant storedBefore = timeSettings.instantNow().minus(gracePeriod);
+        int removed = 0;
+        for (final String key : blobStorage.findKeysStoredBefore(storedBefore)) {
+            if (!attachmentRepository.isBlobReferenced(key) && !userRepository.isAvatarReferenced(key) &&
+                blobStorage.deleteIfStoredBefore(key, storedBefore)) {
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} orphan blobs", removed);
+        }
+        return removed;
+    }
+}
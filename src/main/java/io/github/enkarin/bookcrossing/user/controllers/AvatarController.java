@@ -0,0 +1,85 @@
+package io.github.enkarin.bookcrossing.user.controllers;
+
+import io.github.enkarin.bookcrossing.constant.Constant;
+import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.exception.AvatarNotFoundException;
+import io.github.enkarin.bookcrossing.user.dto.AvatarDto;
+import io.github.enkarin.bookcrossing.user.service.AvatarService;
+import io.github.enkarin.bookcrossing.utils.ImageFormats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.security.Principal;
+import java.util.Map;
+
+import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
+
+@Tag(
+    name = "Аватары пользователей",
+    description = "Позволяет установить свой аватар или получить аватар пользователя"
+)
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/user/profile/avatar")
+public class AvatarController {
+    private final AvatarService avatarService;
+
+    @Operation(summary = "Установка аватара", description = "Позволяет добавить или изменить аватар пользователя")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Аватар сохранён"),
+        @ApiResponse(responseCode = "400", description = "Некорректный файл или имя файла",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))})
+    })
+    @PostMapping
+    public ResponseEntity<Void> putAvatar(@ModelAttribute final MultipartFile avatar, final Principal principal) {
+        ImageFormats.requireSupportedExpansion(avatar.getOriginalFilename());
+        avatarService.putAvatar(principal.getName(), avatar);
+        return new ResponseEntity<>(HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Получение аватара", description = "Позволяет получить аватар указанного пользователя")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Возвращение аватара",
+            content = {@Content(mediaType = Constant.JPG), @Content(mediaType = Constant.BMP), @Content(mediaType = Constant.PNG)}),
+        @ApiResponse(responseCode = "304", description = "Аватар не изменился с версии, указанной в If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Указанного пользователя или его аватара не существует",
+            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))})
+    })
+    @GetMapping
+    public ResponseEntity<Resource> getAvatar(@RequestParam final int userId) {
+        final AvatarDto avatar = avatarService.getAvatar(userId);
+        return ResponseEntity.ok()
+            .contentType(MediaTypeFactory.getMediaType("avatar." + avatar.getExpansion()).orElse(MediaType.APPLICATION_OCTET_STREAM))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + userId + '.' + avatar.getExpansion() + '"')
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(avatar.getContentHash())
+            .body(avatar.getData());
+    }
+
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    @ExceptionHandler(AvatarNotFoundException.class)
+    public Map<String, String> avatarNotFound() {
+        return createErrorMap(ErrorMessage.ERROR_1018);
+    }
+}
@@ -5,7 +5,6 @@ import io.github.enkarin.bookcrossing.constant.ErrorMessage;
 import io.github.enkarin.bookcrossing.exception.BindingErrorsException;
 import io.github.enkarin.bookcrossing.exception.InvalidPasswordException;
 import io.github.enkarin.bookcrossing.exception.PasswordsDontMatchException;
-import io.github.enkarin.bookcrossing.exception.UnsupportedImageTypeException;
 import io.github.enkarin.bookcrossing.user.dto.UserProfileDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPutProfileDto;
@@ -21,16 +20,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.FileCopyUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.ModelAttribute;
-import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -38,16 +32,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.multipart.MultipartFile;
 
-import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.security.Principal;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
 import static io.github.enkarin.bookcrossing.utils.Util.createErrorMap;
@@ -127,43 +116,6 @@ public class UserProfileController {
         return ResponseEntity.ok(userService.findAllUsers(zone, pageNumber, pageSize));
     }
 
-    @Operation(summary = "Установка аватара", description = "Позволяет добавить или изменить аватар пользователя")
-    @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Аватар сохранён"),
-        @ApiResponse(responseCode = "400", description = "Некорректный файл или имя файла",
-            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))})
-    })
-    @PostMapping("/avatar")
-    public ResponseEntity<Void> putAvatar(@ModelAttribute final MultipartFile avatar, final Principal principal) {
-        final String fileName = avatar.getOriginalFilename();
-        if (fileName == null || fileName.isBlank()) {
-            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_3001.getCode());
-        }
-        final String expansion = fileName.substring(fileName.indexOf('.') + 1).toLowerCase(Locale.ROOT);
-        if ("jpeg".equals(expansion) || "jpg".equals(expansion) || "png".equals(expansion) || "bmp".equals(expansion)) {
-            userService.putAvatar(principal.getName(), avatar);
-        } else {
-            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_3002.getCode());
-        }
-        return new ResponseEntity<>(HttpStatus.CREATED);
-    }
-
-    @Operation(summary = "Получение аватара", description = "Позволяет получить аватар указанного пользователя")
-    @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Возвращение аватара", content = {@Content(mediaType = Constant.JPG)}),
-        @ApiResponse(responseCode = "404", description = "Указанного пользователя не существует",
-            content = {@Content(mediaType = Constant.MEDIA_TYPE, schema = @Schema(ref = "#/components/schemas/LogicErrorBody"))})
-    })
-    @GetMapping("/avatar")
-    public HttpServletResponse getAvatar(@RequestParam final int userId, final HttpServletResponse response) throws IOException {
-        final byte[] avatar = userService.getAvatar(userId);
-        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
-        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + userId + ".jpg\"");
-        response.setContentLength(avatar.length);
-        FileCopyUtils.copy(new ByteArrayInputStream(avatar), response.getOutputStream());
-        return response;
-    }
-
     @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
     @ExceptionHandler(PasswordsDontMatchException.class)
     public Map<String, String> passwordExc() {
@@ -0,0 +1,23 @@
+package io.github.enkarin.bookcrossing.user.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AvatarDto {
+
+    private final Resource data;
+
+    private final String contentHash;
+
+    private final String expansion;
+
+    public static AvatarDto create(final Resource data, final String contentHash, final String expansion) {
+        return new AvatarDto(data, contentHash, expansion);
+    }
+}
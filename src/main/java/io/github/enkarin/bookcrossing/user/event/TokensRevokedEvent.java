@@ -0,0 +1,12 @@
+package io.github.enkarin.bookcrossing.user.event;
+
+/**
+ * Отзыв токенов доступа пользователя после блокировки, смены пароля или удаления.
+ * Отзыв привязан к идентификатору, а не к логину, чтобы не затронуть нового пользователя с логином удалённого.
+ *
+ * @param userId       идентификатор пользователя
+ * @param tokenVersion наименьшая версия токенов, которые ещё принимаются
+ * @param revokedAt    момент отзыва в секундах
+ */
+public record TokensRevokedEvent(int userId, int tokenVersion, long revokedAt) {
+}
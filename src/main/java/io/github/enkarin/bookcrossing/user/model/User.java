@@ -1,9 +1,9 @@
 package io.github.enkarin.bookcrossing.user.model;
 
 import io.github.enkarin.bookcrossing.books.model.Book;
+import io.github.enkarin.bookcrossing.user.event.TokensRevokedEvent;
 import lombok.Getter;
 import lombok.Setter;
-import org.hibernate.annotations.Type;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -14,7 +14,6 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
-import javax.persistence.Lob;
 import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
@@ -27,6 +26,7 @@ import java.util.Set;
 @Getter
 @Setter
 @Table(name = "t_user")
+@SuppressWarnings("PMD.TooManyFields")
 public class User implements UserDetails {
 
     @Serial
@@ -52,12 +52,17 @@ public class User implements UserDetails {
 
     private long loginDate;
 
+    private int tokenVersion;
+
+    private long tokensRevokedAt;
+
     private String aboutMe;
 
-    @Lob
-    @Type(type = "org.hibernate.type.BinaryType")
-    @Column(length = 1_048_576)
-    private byte[] avatar;
+    @Column(name = "avatar_key")
+    private String avatarKey;
+
+    @Column(name = "avatar_expansion")
+    private String avatarExpansion;
 
     @ManyToMany
     @JoinTable(
@@ -78,6 +83,17 @@ public class User implements UserDetails {
     )
     private Set<Book> bookmarks;
 
+    /**
+     * Делает недействительными все выданные пользователю токены доступа.
+     *
+     * @return событие, которое нужно опубликовать, чтобы отзыв применился на всех экземплярах
+     */
+    public TokensRevokedEvent revokeTokens(final long now) {
+        tokenVersion++;
+        tokensRevokedAt = now;
+        return new TokensRevokedEvent(userId, tokenVersion, now);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return userRoles;
@@ -0,0 +1,10 @@
+package io.github.enkarin.bookcrossing.user.repository;
+
+public interface RevokedTokensView {
+
+    int getUserId();
+
+    int getTokenVersion();
+
+    long getTokensRevokedAt();
+}
@@ -0,0 +1,8 @@
+package io.github.enkarin.bookcrossing.user.repository;
+
+public interface TokenOwnerView {
+
+    int getUserId();
+
+    int getTokenVersion();
+}
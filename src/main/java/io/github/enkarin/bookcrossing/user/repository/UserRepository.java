@@ -2,6 +2,7 @@ package io.github.enkarin.bookcrossing.user.repository;
 
 import io.github.enkarin.bookcrossing.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
@@ -13,9 +14,50 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT count(u) > 0 FROM User u WHERE u.avatarKey = ?1")
+    boolean isAvatarReferenced(String key);
+
     @Query(value = "select u.* from bookcrossing.t_user u " +
         "inner join bookcrossing.t_user_role ur on u.user_id = ur.user_id " +
         "inner join bookcrossing.t_role r on ur.role_id = r.role_id " +
         "where r.name = ?1 order by u.user_id offset ?2 * ?3 limit ?3", nativeQuery = true)
     List<User> findByUserRolesOrderByUserId(String roleName, int pageNumber, int pageSize);
+
+    @Query("SELECT r.name FROM User u JOIN u.userRoles r WHERE u.login = ?1")
+    List<String> findRoleNames(String login);
+
+    /**
+     * Возвращает идентификатор и версию токенов доступа пользователя, если он не заблокирован.
+     */
+    @Query("SELECT u.userId AS userId, u.tokenVersion AS tokenVersion FROM User u WHERE u.login = ?1 AND u.accountNonLocked = true")
+    Optional<TokenOwnerView> findActiveTokenOwner(String login);
+
+    @Query("SELECT u.userId AS userId, u.tokenVersion AS tokenVersion, u.tokensRevokedAt AS tokensRevokedAt " +
+        "FROM User u WHERE u.tokensRevokedAt > 0 AND u.tokensRevokedAt >= ?1")
+    List<RevokedTokensView> findRevokedTokens(long since);
+
+    @Modifying
+    @Query("UPDATE User u SET u.loginDate = ?2 WHERE u.login = ?1")
+    int updateLoginDate(String login, long loginDate);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = ?2 WHERE u.userId = ?1")
+    int updatePassword(int userId, String password);
+
+    /**
+     * Удаляет не больше limit неподтверждённых пользователей, у которых не осталось действующего токена подтверждения.
+     * Роли удаляются тем же запросом, токены и письма в очереди — каскадно.
+     *
+     * @return количество удалённых пользователей
+     */
+    @Modifying
+    @Query(value = """
+        WITH stale AS (
+            SELECT u.user_id FROM bookcrossing.t_user u
+            WHERE NOT u.enabled AND NOT EXISTS(
+                SELECT 1 FROM bookcrossing.t_action_mail_user a WHERE a.user_id = u.user_id AND a.expires_at >= ?1)
+            LIMIT ?2 FOR UPDATE SKIP LOCKED),
+        roles AS (DELETE FROM bookcrossing.t_user_role r USING stale WHERE r.user_id = stale.user_id)
+        DELETE FROM bookcrossing.t_user u USING stale WHERE u.user_id = stale.user_id""", nativeQuery = true)
+    int deleteUnconfirmed(long now, int limit);
 }
@@ -0,0 +1,61 @@
+package io.github.enkarin.bookcrossing.user.service;
+
+import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.exception.AvatarNotFoundException;
+import io.github.enkarin.bookcrossing.exception.UnsupportedImageTypeException;
+import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
+import io.github.enkarin.bookcrossing.image.service.ImageJobService;
+import io.github.enkarin.bookcrossing.storage.BlobStorage;
+import io.github.enkarin.bookcrossing.user.dto.AvatarDto;
+import io.github.enkarin.bookcrossing.user.model.User;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import io.github.enkarin.bookcrossing.utils.ImageFormats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AvatarService {
+    private final UserRepository userRepository;
+    private final BlobStorage blobStorage;
+    private final ImageJobService imageJobService;
+
+    /**
+     * Сразу сохраняет загруженный файл как аватар вместе с его форматом, а сжатая копия подменяет его после обработки в фоне.
+     */
+    @Transactional
+    public void putAvatar(final String login, final MultipartFile avatarData) {
+        try {
+            final User user = userRepository.findByLogin(login).orElseThrow(UserNotFoundException::new);
+            try (InputStream content = avatarData.getInputStream()) {
+                user.setAvatarExpansion(ImageFormats.findExpansion(content)
+                    .orElseThrow(() -> new UnsupportedImageTypeException(ErrorMessage.ERROR_2008.getCode())));
+            }
+            try (InputStream original = avatarData.getInputStream()) {
+                user.setAvatarKey(blobStorage.store(original));
+            }
+            imageJobService.enqueueAvatar(user, user.getAvatarKey());
+        } catch (IOException e) {
+            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_2008.getCode(), e);
+        }
+    }
+
+    public AvatarDto getAvatar(final int userId) {
+        final User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        if (user.getAvatarKey() == null) {
+            throw new AvatarNotFoundException();
+        }
+        final Resource data = blobStorage.load(user.getAvatarKey());
+        if (!data.exists()) {
+            throw new AvatarNotFoundException();
+        }
+        return AvatarDto.create(data, user.getAvatarKey(), user.getAvatarExpansion());
+    }
+}
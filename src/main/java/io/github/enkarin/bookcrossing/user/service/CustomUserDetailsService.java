@@ -1,21 +0,0 @@
-package io.github.enkarin.bookcrossing.user.service;
-
-import io.github.enkarin.bookcrossing.user.dto.UserDetailsDto;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-@Component
-@RequiredArgsConstructor
-@Transactional(readOnly = true)
-public class CustomUserDetailsService implements UserDetailsService {
-
-    private final UserService userService;
-
-    @Override
-    public UserDetails loadUserByUsername(final String username) {
-        return UserDetailsDto.fromUser(userService.findByLogin(username));
-    }
-}
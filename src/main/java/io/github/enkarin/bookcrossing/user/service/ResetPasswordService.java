@@ -1,31 +1,48 @@
 package io.github.enkarin.bookcrossing.user.service;
 
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
 import io.github.enkarin.bookcrossing.exception.TokenInvalidException;
 import io.github.enkarin.bookcrossing.mail.model.ActionMailUser;
 import io.github.enkarin.bookcrossing.mail.repository.ActionMailUserRepository;
+import io.github.enkarin.bookcrossing.security.password.PasswordHasher;
 import io.github.enkarin.bookcrossing.user.dto.UserPasswordDto;
 import io.github.enkarin.bookcrossing.user.model.User;
 import io.github.enkarin.bookcrossing.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class ResetPasswordService {
 
     private final ActionMailUserRepository actionMailUserRepository;
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final TimeSettings timeSettings;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Хеширует новый пароль до начала транзакции, чтобы ожидание пула хеширования не удерживало соединение с базой данных.
+     */
     public void updatePassword(final String token, final UserPasswordDto passwordDto) {
-        final ActionMailUser actionMailUser = actionMailUserRepository.findById(token)
+        findActualToken(token);
+        final String password = passwordHasher.encode(passwordDto.getPassword());
+        transactionTemplate.executeWithoutResult(status -> {
+            final ActionMailUser actionMailUser = findActualToken(token);
+            final User user = actionMailUser.getUser();
+            user.setPassword(password);
+            eventPublisher.publishEvent(user.revokeTokens(timeSettings.getEpochSeconds()));
+            userRepository.save(user);
+            actionMailUserRepository.delete(actionMailUser);
+        });
+    }
+
+    private ActionMailUser findActualToken(final String token) {
+        return actionMailUserRepository.findById(token)
+            .filter(a -> a.getExpiresAt() >= timeSettings.getEpochSeconds())
             .orElseThrow(TokenInvalidException::new);
-        final User user = actionMailUser.getUser();
-        user.setPassword(bCryptPasswordEncoder.encode(passwordDto.getPassword()));
-        userRepository.save(user);
-        actionMailUserRepository.delete(actionMailUser);
     }
 }
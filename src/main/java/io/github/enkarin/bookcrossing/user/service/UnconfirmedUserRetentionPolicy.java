@@ -0,0 +1,28 @@
+package io.github.enkarin.bookcrossing.user.service;
+
+import io.github.enkarin.bookcrossing.schedulingtasks.RetentionPolicy;
+import io.github.enkarin.bookcrossing.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Удаляет пользователей, которые не подтвердили почту, пока действовал токен подтверждения.
+ * Такой пользователь не может войти, поэтому у него нет книг, переписок и закладок.
+ */
+@Service
+@RequiredArgsConstructor
+public class UnconfirmedUserRetentionPolicy implements RetentionPolicy {
+    private final UserRepository userRepository;
+
+    @Override
+    public String getName() {
+        return "unconfirmed-users";
+    }
+
+    @Override
+    @Transactional
+    public int purge(final long now, final int limit) {
+        return userRepository.deleteUnconfirmed(now, limit);
+    }
+}
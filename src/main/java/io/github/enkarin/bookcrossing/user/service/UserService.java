@@ -1,6 +1,7 @@
 package io.github.enkarin.bookcrossing.user.service;
 
-import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.books.event.BookCatalogEvent;
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
 import io.github.enkarin.bookcrossing.exception.AccountNotConfirmedException;
 import io.github.enkarin.bookcrossing.exception.EmailFailedException;
 import io.github.enkarin.bookcrossing.exception.InvalidPasswordException;
@@ -8,7 +9,6 @@ import io.github.enkarin.bookcrossing.exception.LockedAccountException;
 import io.github.enkarin.bookcrossing.exception.LoginFailedException;
 import io.github.enkarin.bookcrossing.exception.PasswordsDontMatchException;
 import io.github.enkarin.bookcrossing.exception.TokenNotFoundException;
-import io.github.enkarin.bookcrossing.exception.UnsupportedImageTypeException;
 import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.mail.model.ActionMailUser;
 import io.github.enkarin.bookcrossing.mail.repository.ActionMailUserRepository;
@@ -17,6 +17,7 @@ import io.github.enkarin.bookcrossing.refresh.service.RefreshService;
 import io.github.enkarin.bookcrossing.registration.dto.AuthResponse;
 import io.github.enkarin.bookcrossing.registration.dto.LoginRequest;
 import io.github.enkarin.bookcrossing.registration.dto.UserRegistrationDto;
+import io.github.enkarin.bookcrossing.security.password.PasswordHasher;
 import io.github.enkarin.bookcrossing.user.dto.UserDto;
 import io.github.enkarin.bookcrossing.user.dto.UserProfileDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
@@ -24,15 +25,13 @@ import io.github.enkarin.bookcrossing.user.dto.UserPutProfileDto;
 import io.github.enkarin.bookcrossing.user.model.User;
 import io.github.enkarin.bookcrossing.user.repository.RoleRepository;
 import io.github.enkarin.bookcrossing.user.repository.UserRepository;
-import io.github.enkarin.bookcrossing.utils.ImageCompressor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.imageio.ImageIO;
-import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -47,11 +46,17 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final ActionMailUserRepository confirmationMailUserRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHasher passwordHasher;
     private final MailService mailService;
     private final RefreshService refreshService;
-
-    @Transactional
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimeSettings timeSettings;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Хеширует пароль до начала транзакции, чтобы ожидание пула хеширования не удерживало соединение с базой данных.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDto saveUser(final UserRegistrationDto userRegistrationDTO) {
         if (!userRegistrationDTO.getPassword().equals(userRegistrationDTO.getPasswordConfirm())) {
             throw new PasswordsDontMatchException();
@@ -59,20 +64,20 @@ public class UserService {
         if (isNull(userRegistrationDTO.getLogin()) || userRegistrationDTO.getLogin().isBlank()) {
             userRegistrationDTO.setLogin(generateLogin());
         }
-        if (userRepository.findByLogin(userRegistrationDTO.getLogin()).isPresent()) {
-            throw new LoginFailedException();
-        }
-        if (userRepository.findByEmail(userRegistrationDTO.getEmail()).isPresent()) {
-            throw new EmailFailedException();
-        }
-        final User user = userRepository.save(convertToUser(userRegistrationDTO));
-        mailService.sendApproveMail(user);
-        return UserDto.fromUser(user);
+        checkLoginAndEmailAreFree(userRegistrationDTO);
+        final String password = passwordHasher.encode(userRegistrationDTO.getPassword());
+        return transactionTemplate.execute(status -> {
+            checkLoginAndEmailAreFree(userRegistrationDTO);
+            final User user = userRepository.save(convertToUser(userRegistrationDTO, password));
+            mailService.sendApproveMail(user);
+            return UserDto.fromUser(user);
+        });
     }
 
     @Transactional
     public AuthResponse confirmMail(final String token) {
         final ActionMailUser confirmationMailUser = confirmationMailUserRepository.findById(token)
+            .filter(a -> a.getExpiresAt() >= timeSettings.getEpochSeconds())
             .orElseThrow(TokenNotFoundException::new);
         final User user = confirmationMailUser.getUser();
         user.setEnabled(true);
@@ -101,12 +106,23 @@ public class UserService {
             .toList();
     }
 
+    /**
+     * Проверяет пароль вне транзакции, чтобы ожидание пула хеширования не удерживало соединение с базой данных.
+     * В транзакции выполняются только запись обновлённого хеша и выдача токенов.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse findByLoginAndPassword(final LoginRequest login) {
         final User user = userRepository.findByLogin(login.getLogin()).orElseGet(() -> userRepository.findByEmail(login.getLogin()).orElseThrow(UserNotFoundException::new));
-        if (bCryptPasswordEncoder.matches(login.getPassword(), user.getPassword())) {
+        if (passwordHasher.matches(login.getPassword(), user.getPassword())) {
             if (user.isEnabled()) {
                 if (user.isAccountNonLocked()) {
-                    return refreshService.createTokens(user.getLogin());
+                    final String upgradedPassword = rehashIfOutdated(user, login.getPassword());
+                    return transactionTemplate.execute(status -> {
+                        if (upgradedPassword != null) {
+                            userRepository.updatePassword(user.getUserId(), upgradedPassword);
+                        }
+                        return refreshService.createTokens(user.getLogin());
+                    });
                 }
                 throw new LockedAccountException();
             }
@@ -115,42 +131,46 @@ public class UserService {
         throw new InvalidPasswordException();
     }
 
-    @Transactional
+    /**
+     * Проверяет старый пароль и хеширует новый до начала транзакции, в которой сохраняются изменения профиля.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserProfileDto putUserInfo(final UserPutProfileDto userPutProfileDto, final String login) {
-        final User user = userRepository.findByLogin(login).orElseThrow(UserNotFoundException::new);
-        if (Objects.nonNull(userPutProfileDto.getName())) {
-            user.setName(userPutProfileDto.getName());
-        }
-        if (Objects.nonNull(userPutProfileDto.getCity())) {
-            user.setCity(userPutProfileDto.getCity());
-        }
-        if (Objects.nonNull(userPutProfileDto.getNewPassword())) {
-            checkAndUpdatePassword(user, userPutProfileDto);
-        }
-
-        return UserProfileDto.fromUser(user);
+        final String newPassword = Objects.nonNull(userPutProfileDto.getNewPassword()) ? checkAndEncodePassword(login, userPutProfileDto) : null;
+        return transactionTemplate.execute(status -> {
+            final User user = userRepository.findByLogin(login).orElseThrow(UserNotFoundException::new);
+            if (Objects.nonNull(userPutProfileDto.getName())) {
+                user.setName(userPutProfileDto.getName());
+            }
+            if (Objects.nonNull(userPutProfileDto.getCity())) {
+                user.setCity(userPutProfileDto.getCity());
+            }
+            if (Objects.nonNull(newPassword)) {
+                user.setPassword(newPassword);
+                eventPublisher.publishEvent(user.revokeTokens(timeSettings.getEpochSeconds()));
+            }
+            return UserProfileDto.fromUser(user);
+        });
     }
 
     @Transactional
     public void deleteUser(final int userId) {
-        userRepository.deleteById(userId);
+        final User user = userRepository.findById(userId).orElseThrow(UserNotFoundException::new);
+        user.getBooks().forEach(book -> eventPublisher.publishEvent(BookCatalogEvent.removed(book)));
+        eventPublisher.publishEvent(user.revokeTokens(timeSettings.getEpochSeconds()));
+        userRepository.delete(user);
     }
 
-    @Transactional
-    public void putAvatar(final String login, final MultipartFile avatarData) {
-        try {
-            userRepository.findByLogin(login).orElseThrow(UserNotFoundException::new)
-                .setAvatar(ImageCompressor.compressImage(ImageIO.read(avatarData.getInputStream()), 150, 150));
-        } catch (IOException e) {
-            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_2008.getCode(), e);
+    private void checkLoginAndEmailAreFree(final UserRegistrationDto userRegistrationDTO) {
+        if (userRepository.findByLogin(userRegistrationDTO.getLogin()).isPresent()) {
+            throw new LoginFailedException();
+        }
+        if (userRepository.findByEmail(userRegistrationDTO.getEmail()).isPresent()) {
+            throw new EmailFailedException();
         }
     }
 
-    public byte[] getAvatar(final int userId) {
-        return userRepository.findById(userId).orElseThrow(UserNotFoundException::new).getAvatar();
-    }
-
-    private User convertToUser(final UserRegistrationDto userRegistrationDTO) {
+    private User convertToUser(final UserRegistrationDto userRegistrationDTO, final String password) {
         final User user = new User();
         user.setName(userRegistrationDTO.getName());
         user.setLogin(userRegistrationDTO.getLogin());
@@ -159,7 +179,7 @@ public class UserService {
         user.setUserRoles(Set.of(roleRepository.getRoleByName("ROLE_USER")));
         user.setAccountNonLocked(true);
         user.setEnabled(false);
-        user.setPassword(bCryptPasswordEncoder.encode(userRegistrationDTO.getPassword()));
+        user.setPassword(password);
         user.setAboutMe(userRegistrationDTO.getAboutMe());
         return user;
     }
@@ -172,14 +192,18 @@ public class UserService {
         return possibleLogin;
     }
 
-    private void checkAndUpdatePassword(final User user, final UserPutProfileDto userPutProfileDto) {
+    private String checkAndEncodePassword(final String login, final UserPutProfileDto userPutProfileDto) {
         if (!userPutProfileDto.getNewPassword().equals(userPutProfileDto.getPasswordConfirm())) {
             throw new PasswordsDontMatchException();
         }
-        if (bCryptPasswordEncoder.matches(userPutProfileDto.getOldPassword(), user.getPassword())) {
-            user.setPassword(bCryptPasswordEncoder.encode(userPutProfileDto.getNewPassword()));
-        } else {
-            throw new InvalidPasswordException();
+        final User user = userRepository.findByLogin(login).orElseThrow(UserNotFoundException::new);
+        if (passwordHasher.matches(userPutProfileDto.getOldPassword(), user.getPassword())) {
+            return passwordHasher.encode(userPutProfileDto.getNewPassword());
         }
+        throw new InvalidPasswordException();
+    }
+
+    private String rehashIfOutdated(final User user, final String rawPassword) {
+        return passwordHasher.upgradeEncoding(user.getPassword()) ? passwordHasher.encode(rawPassword) : null;
     }
 }
@@ -0,0 +1,64 @@
+package io.github.enkarin.bookcrossing.utils;
+
+import io.github.enkarin.bookcrossing.constant.ErrorMessage;
+import io.github.enkarin.bookcrossing.exception.UnsupportedImageTypeException;
+import lombok.experimental.UtilityClass;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+@UtilityClass
+public class ImageFormats {
+    private static final Set<String> SUPPORTED_EXPANSIONS = Set.of("jpeg", "jpg", "png", "bmp");
+
+    /**
+     * Возвращает расширение загружаемого изображения в нижнем регистре.
+     *
+     * @throws UnsupportedImageTypeException если имя файла пустое или расширение не jpeg, jpg, png или bmp
+     */
+    public static String requireSupportedExpansion(final String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_3001.getCode());
+        }
+        final String expansion = fileName.substring(fileName.indexOf('.') + 1).toLowerCase(Locale.ROOT);
+        if (!SUPPORTED_EXPANSIONS.contains(expansion)) {
+            throw new UnsupportedImageTypeException(ErrorMessage.ERROR_3002.getCode());
+        }
+        return expansion;
+    }
+
+    /**
+     * Проверяет по заголовку файла, что его сможет прочитать ImageIO. Изображение при этом не декодируется.
+     */
+    public static boolean isReadableImage(final InputStream content) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(content)) {
+            return imageInputStream != null && ImageIO.getImageReaders(imageInputStream).hasNext();
+        }
+    }
+
+    /**
+     * Определяет формат изображения по заголовку файла, не декодируя изображение.
+     *
+     * @return расширение файла для этого формата (jpg, png, bmp) или пустой Optional, если ImageIO не сможет прочитать файл
+     */
+    public static Optional<String> findExpansion(final InputStream content) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(content)) {
+            if (imageInputStream == null) {
+                return Optional.empty();
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext()) {
+                return Optional.empty();
+            }
+            final String format = readers.next().getFormatName().toLowerCase(Locale.ROOT);
+            return Optional.of("jpeg".equals(format) ? "jpg" : format);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+create index if not exists book_lower_title_idx on bookcrossing.t_book (lower(title));
+create index if not exists book_lower_author_idx on bookcrossing.t_book (lower(author)) where author is not null;
+create index if not exists book_lower_publishing_house_idx on bookcrossing.t_book (lower(publishing_house)) where publishing_house is not null;
+create index if not exists user_lower_city_idx on bookcrossing.t_user (lower(city)) where city is not null;
\ No newline at end of file
@@ -0,0 +1,17 @@
+create extension if not exists pg_trgm with schema public;
+
+drop index if exists bookcrossing.book_lower_title_idx;
+drop index if exists bookcrossing.book_lower_author_idx;
+create index if not exists book_lower_title_trgm_idx on bookcrossing.t_book using gin (lower(title) public.gin_trgm_ops);
+create index if not exists book_lower_author_trgm_idx on bookcrossing.t_book using gin (lower(author) public.gin_trgm_ops) where author is not null;
+
+alter table bookcrossing.t_book add column search_vector tsvector not null generated always as (
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(author, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(author, '')), 'B') ||
+    setweight(to_tsvector('russian', coalesce(publishing_house, '')), 'C') ||
+    setweight(to_tsvector('english', coalesce(publishing_house, '')), 'C')
+) stored;
+comment on column bookcrossing.t_book.search_vector is 'Full-text search document over title, author and publishing house';
+create index if not exists book_search_vector_idx on bookcrossing.t_book using gin (search_vector);
\ No newline at end of file
@@ -0,0 +1,11 @@
+alter table bookcrossing.t_attach add column original_key varchar(64);
+alter table bookcrossing.t_attach add column list_key varchar(64);
+alter table bookcrossing.t_attach add column thumb_key varchar(64);
+
+comment on column bookcrossing.t_attach.original_key is 'Blob storage key (SHA-256) of the uploaded image';
+comment on column bookcrossing.t_attach.list_key is 'Blob storage key (SHA-256) of the list-sized image';
+comment on column bookcrossing.t_attach.thumb_key is 'Blob storage key (SHA-256) of the thumbnail image';
+
+create index if not exists attach_original_key_idx on bookcrossing.t_attach (original_key) where original_key is not null;
+create index if not exists attach_list_key_idx on bookcrossing.t_attach (list_key) where list_key is not null;
+create index if not exists attach_thumb_key_idx on bookcrossing.t_attach (thumb_key) where thumb_key is not null;
\ No newline at end of file
@@ -0,0 +1,32 @@
+create table if not exists bookcrossing.t_attach_variant (
+    attach_id integer not null,
+    format varchar(10) not null,
+    blob_key varchar(64) not null,
+    expansion varchar(10) not null,
+    primary key (attach_id, format)
+);
+
+comment on table bookcrossing.t_attach_variant is 'Table of stored image variants of book images';
+comment on column bookcrossing.t_attach_variant.attach_id is 'Identifier of the book image';
+comment on column bookcrossing.t_attach_variant.format is 'Variant format: ORIGIN, LIST or THUMB';
+comment on column bookcrossing.t_attach_variant.blob_key is 'Blob storage key (SHA-256) of the variant content';
+comment on column bookcrossing.t_attach_variant.expansion is 'File extension of the variant content';
+
+alter table if exists bookcrossing.t_attach_variant
+    add constraint attach_variant_foreign_attach
+        foreign key (attach_id) references bookcrossing.t_attach (attach_id) on delete cascade;
+
+create index if not exists attach_variant_blob_key_idx on bookcrossing.t_attach_variant (blob_key);
+
+insert into bookcrossing.t_attach_variant (attach_id, format, blob_key, expansion)
+select attach_id, 'ORIGIN', original_key, coalesce(expansion, 'jpg') from bookcrossing.t_attach where original_key is not null
+union all
+select attach_id, 'LIST', list_key, 'jpg' from bookcrossing.t_attach where list_key is not null
+union all
+select attach_id, 'THUMB', thumb_key, 'jpg' from bookcrossing.t_attach where thumb_key is not null;
+
+drop index if exists bookcrossing.attach_original_key_idx;
+drop index if exists bookcrossing.attach_list_key_idx;
+drop index if exists bookcrossing.attach_thumb_key_idx;
+
+alter table bookcrossing.t_attach drop column original_key, drop column list_key, drop column thumb_key;
\ No newline at end of file
@@ -0,0 +1,5 @@
+alter table bookcrossing.t_user add column avatar_key varchar(64);
+
+comment on column bookcrossing.t_user.avatar_key is 'Blob storage key (SHA-256) of the user avatar';
+
+create index if not exists user_avatar_key_idx on bookcrossing.t_user (avatar_key) where avatar_key is not null;
\ No newline at end of file
@@ -0,0 +1,30 @@
+create table if not exists bookcrossing.t_image_job (
+    job_id integer not null,
+    attach_id integer,
+    user_id integer,
+    source_key varchar(64) not null,
+    attempts integer not null default 0,
+    available_at bigint not null,
+    primary key (job_id),
+    constraint image_job_single_target check ((attach_id is null) <> (user_id is null))
+);
+
+comment on table bookcrossing.t_image_job is 'Queue of pending image resize jobs';
+comment on column bookcrossing.t_image_job.job_id is 'Job identifier';
+comment on column bookcrossing.t_image_job.attach_id is 'Book image whose variants are built';
+comment on column bookcrossing.t_image_job.user_id is 'User whose avatar is built';
+comment on column bookcrossing.t_image_job.source_key is 'Blob storage key (SHA-256) of the uploaded image';
+comment on column bookcrossing.t_image_job.attempts is 'Number of times the job was taken by a worker';
+comment on column bookcrossing.t_image_job.available_at is 'Epoch second after which the job may be taken by a worker';
+
+alter table if exists bookcrossing.t_image_job
+    add constraint image_job_foreign_attach
+        foreign key (attach_id) references bookcrossing.t_attach (attach_id) on delete cascade;
+
+alter table if exists bookcrossing.t_image_job
+    add constraint image_job_foreign_user
+        foreign key (user_id) references bookcrossing.t_user (user_id) on delete cascade;
+
+create index if not exists image_job_foreign_attach on bookcrossing.t_image_job (attach_id) where attach_id is not null;
+create index if not exists image_job_foreign_user on bookcrossing.t_image_job (user_id) where user_id is not null;
+create index if not exists image_job_available_at_idx on bookcrossing.t_image_job (available_at);
\ No newline at end of file
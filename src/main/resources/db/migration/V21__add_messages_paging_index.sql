@@ -0,0 +1,5 @@
+drop index if exists bookcrossing.messages_foreign_correspondence;
+
+create index if not exists messages_correspondence_departure_date_idx
+    on bookcrossing.t_messages (correspondence_first_user_id, correspondence_second_user_id, departure_date desc, message_id desc)
+    where correspondence_first_user_id is not null;
\ No newline at end of file
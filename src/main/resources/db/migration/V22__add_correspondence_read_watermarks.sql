@@ -0,0 +1,30 @@
+alter table bookcrossing.t_correspondence
+    add column first_user_read_date bigint not null default 0,
+    add column first_user_read_message_id bigint not null default 0,
+    add column second_user_read_date bigint not null default 0,
+    add column second_user_read_message_id bigint not null default 0;
+
+comment on column bookcrossing.t_correspondence.first_user_read_date is 'Departure date of the last message read by the first user';
+comment on column bookcrossing.t_correspondence.first_user_read_message_id is 'Identifier of the last message read by the first user';
+comment on column bookcrossing.t_correspondence.second_user_read_date is 'Departure date of the last message read by the second user';
+comment on column bookcrossing.t_correspondence.second_user_read_message_id is 'Identifier of the last message read by the second user';
+
+update bookcrossing.t_correspondence c
+set first_user_read_date = r.departure_date, first_user_read_message_id = r.message_id
+from (select distinct on (m.correspondence_first_user_id, m.correspondence_second_user_id)
+          m.correspondence_first_user_id, m.correspondence_second_user_id, m.departure_date, m.message_id
+      from bookcrossing.t_messages m
+      where m.declaim and m.sender_user_id = m.correspondence_second_user_id
+      order by m.correspondence_first_user_id, m.correspondence_second_user_id, m.departure_date desc, m.message_id desc) r
+where c.first_user_id = r.correspondence_first_user_id and c.second_user_id = r.correspondence_second_user_id;
+
+update bookcrossing.t_correspondence c
+set second_user_read_date = r.departure_date, second_user_read_message_id = r.message_id
+from (select distinct on (m.correspondence_first_user_id, m.correspondence_second_user_id)
+          m.correspondence_first_user_id, m.correspondence_second_user_id, m.departure_date, m.message_id
+      from bookcrossing.t_messages m
+      where m.declaim and m.sender_user_id = m.correspondence_first_user_id
+      order by m.correspondence_first_user_id, m.correspondence_second_user_id, m.departure_date desc, m.message_id desc) r
+where c.first_user_id = r.correspondence_first_user_id and c.second_user_id = r.correspondence_second_user_id;
+
+alter table bookcrossing.t_messages drop column declaim;
\ No newline at end of file
@@ -0,0 +1,3 @@
+create index if not exists messages_alert_not_sent_idx
+    on bookcrossing.t_messages (correspondence_first_user_id, correspondence_second_user_id, departure_date, message_id)
+    where not alert_sent and correspondence_first_user_id is not null;
\ No newline at end of file
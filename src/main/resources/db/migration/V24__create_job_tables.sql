@@ -0,0 +1,39 @@
+create table if not exists bookcrossing.t_job_lock (
+    job_name varchar(64) not null,
+    locked_until bigint not null,
+    locked_by varchar(64) not null,
+    primary key (job_name)
+);
+
+comment on table bookcrossing.t_job_lock is 'Leases of scheduled jobs shared by all application instances';
+comment on column bookcrossing.t_job_lock.job_name is 'Job name';
+comment on column bookcrossing.t_job_lock.locked_until is 'Epoch second until which the job may not be started by another instance';
+comment on column bookcrossing.t_job_lock.locked_by is 'Identifier of the instance that took the lease last';
+
+create table if not exists bookcrossing.t_job_run (
+    run_id bigint not null,
+    job_name varchar(64) not null,
+    node varchar(64) not null,
+    started_at bigint not null,
+    duration_millis bigint not null,
+    processed integer not null,
+    status varchar(16) not null,
+    error varchar(1000),
+    primary key (run_id)
+);
+
+comment on table bookcrossing.t_job_run is 'History of scheduled job runs';
+comment on column bookcrossing.t_job_run.run_id is 'Run identifier';
+comment on column bookcrossing.t_job_run.job_name is 'Job name';
+comment on column bookcrossing.t_job_run.node is 'Identifier of the instance that ran the job';
+comment on column bookcrossing.t_job_run.started_at is 'Epoch second when the run started';
+comment on column bookcrossing.t_job_run.duration_millis is 'Run duration in milliseconds';
+comment on column bookcrossing.t_job_run.processed is 'Number of items processed by the run';
+comment on column bookcrossing.t_job_run.status is 'Run outcome';
+comment on column bookcrossing.t_job_run.error is 'Error that stopped a failed run';
+
+alter table if exists bookcrossing.t_job_run
+    add constraint job_run_foreign_job_lock
+        foreign key (job_name) references bookcrossing.t_job_lock (job_name) on delete cascade;
+
+create index if not exists job_run_job_name_started_at_idx on bookcrossing.t_job_run (job_name, started_at desc, run_id desc);
\ No newline at end of file
@@ -0,0 +1,28 @@
+create table if not exists bookcrossing.t_mail_outbox (
+    mail_id bigint not null,
+    user_id integer not null,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    body text not null,
+    attempts integer not null default 0,
+    available_at bigint not null,
+    created_at bigint not null,
+    primary key (mail_id)
+);
+
+comment on table bookcrossing.t_mail_outbox is 'Outgoing mails waiting to be sent';
+comment on column bookcrossing.t_mail_outbox.mail_id is 'Mail identifier';
+comment on column bookcrossing.t_mail_outbox.user_id is 'User the mail is addressed to';
+comment on column bookcrossing.t_mail_outbox.recipient is 'Recipient address';
+comment on column bookcrossing.t_mail_outbox.subject is 'Mail subject';
+comment on column bookcrossing.t_mail_outbox.body is 'Mail text';
+comment on column bookcrossing.t_mail_outbox.attempts is 'Number of times the mail was taken for sending';
+comment on column bookcrossing.t_mail_outbox.available_at is 'Epoch second after which the mail may be taken for sending';
+comment on column bookcrossing.t_mail_outbox.created_at is 'Epoch second when the mail was queued';
+
+alter table if exists bookcrossing.t_mail_outbox
+    add constraint mail_outbox_foreign_user
+        foreign key (user_id) references bookcrossing.t_user (user_id) on delete cascade;
+
+create index if not exists mail_outbox_foreign_user on bookcrossing.t_mail_outbox (user_id);
+create index if not exists mail_outbox_available_at_idx on bookcrossing.t_mail_outbox (available_at);
\ No newline at end of file
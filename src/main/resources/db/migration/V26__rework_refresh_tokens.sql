@@ -0,0 +1,15 @@
+delete from bookcrossing.t_refresh r
+where r.r_user is null
+   or exists(select 1 from bookcrossing.t_refresh n
+             where n.r_user = r.r_user and (n.date > r.date or (n.date = r.date and n.refresh_id > r.refresh_id)));
+
+alter table bookcrossing.t_refresh alter column r_user set not null;
+alter table bookcrossing.t_refresh add column previous_refresh_id varchar(255);
+
+comment on column bookcrossing.t_refresh.previous_refresh_id is 'Token replaced by the current one, presenting it again revokes the user''s token';
+
+alter table if exists bookcrossing.t_refresh
+    add constraint refresh_unique_user unique (r_user);
+
+create index if not exists refresh_previous_refresh_id_idx on bookcrossing.t_refresh (previous_refresh_id) where previous_refresh_id is not null;
+create index if not exists refresh_date_idx on bookcrossing.t_refresh (date);
\ No newline at end of file
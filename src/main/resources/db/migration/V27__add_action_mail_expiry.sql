@@ -0,0 +1,9 @@
+alter table bookcrossing.t_action_mail_user add column expires_at bigint;
+
+update bookcrossing.t_action_mail_user set expires_at = extract(epoch from now())::bigint + 604800;
+
+alter table bookcrossing.t_action_mail_user alter column expires_at set not null;
+
+comment on column bookcrossing.t_action_mail_user.expires_at is 'Epoch second after which the token is no longer accepted and may be deleted';
+
+create index if not exists action_mail_user_expires_at_idx on bookcrossing.t_action_mail_user (expires_at);
\ No newline at end of file
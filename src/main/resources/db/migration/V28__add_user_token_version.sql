@@ -0,0 +1,7 @@
+alter table bookcrossing.t_user add column token_version integer not null default 0;
+alter table bookcrossing.t_user add column tokens_revoked_at bigint not null default 0;
+
+comment on column bookcrossing.t_user.token_version is 'Version of the user''s access tokens, tokens with a lower version are rejected';
+comment on column bookcrossing.t_user.tokens_revoked_at is 'Epoch second when the user''s access tokens were last revoked';
+
+create index if not exists user_tokens_revoked_at_idx on bookcrossing.t_user (tokens_revoked_at) where tokens_revoked_at > 0;
\ No newline at end of file
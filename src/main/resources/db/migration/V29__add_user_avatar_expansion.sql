@@ -0,0 +1,5 @@
+alter table bookcrossing.t_user add column avatar_expansion varchar(8);
+
+comment on column bookcrossing.t_user.avatar_expansion is 'Image format (file extension) of the blob referenced by avatar_key';
+
+update bookcrossing.t_user set avatar_expansion = 'jpg' where avatar_key is not null;
\ No newline at end of file
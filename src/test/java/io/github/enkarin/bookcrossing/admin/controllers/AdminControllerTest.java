@@ -100,6 +100,23 @@ class AdminControllerTest extends BookCrossingBaseTests {
             .expectStatus().isEqualTo(200);
     }
 
+    @Test
+    void lockedUserShouldRevokeIssuedAccessTokens() {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(user.getUserId());
+        final String token = generateAccessToken(TestDataProvider.buildAuthBot());
+        adminService.lockedUser(LockedUserDto.create("Bot", "Заблокировано"));
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("user", "profile")
+                .queryParam("zone", 0)
+                .build())
+            .headers(headers -> headers.setBearerAuth(token))
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
     @Test
     void nonLockedUserShouldWork() {
         createAndSaveUser(TestDataProvider.buildBot());
@@ -22,6 +22,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -169,6 +170,61 @@ class AttachmentControllerTest extends BookCrossingBaseTests {
         assertThat(attachment).isNotNull();
     }
 
+    @Test
+    @SneakyThrows
+    void findAttachmentRangeShouldReturnPartialContent() {
+        final int book1 = bookService.saveBook(TestDataProvider.buildWolves(), user.getLogin()).getBookId();
+        createJpgAttachment(book1);
+        final int attachmentId = bookService.findById(book1).getTitleAttachmentId();
+        final byte[] original = Files.readAllBytes(ResourceUtils.getFile("classpath:files/image.jpg").toPath());
+
+        final var attachment = webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "myBook", "attachment")
+                .queryParam("id", attachmentId)
+                .queryParam("format", "ORIGIN").build())
+            .headers(headers -> {
+                headers.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot()));
+                headers.set(HttpHeaders.RANGE, "bytes=0-99");
+            })
+            .exchange()
+            .expectStatus().isEqualTo(206)
+            .expectBody().returnResult().getResponseBody();
+
+        assertThat(attachment).isEqualTo(Arrays.copyOf(original, 100));
+    }
+
+    @Test
+    @SneakyThrows
+    void findAttachmentShouldAnswerNotModifiedForMatchingETag() {
+        final int book1 = bookService.saveBook(TestDataProvider.buildWolves(), user.getLogin()).getBookId();
+        createJpgAttachment(book1);
+        final int attachmentId = bookService.findById(book1).getTitleAttachmentId();
+        awaitImageJobs();
+
+        final String eTag = webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "myBook", "attachment")
+                .queryParam("id", attachmentId)
+                .queryParam("format", "THUMB").build())
+            .headers(headers -> headers.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot())))
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable")
+            .returnResult(byte[].class).getResponseHeaders().getETag();
+
+        assertThat(eTag).matches("\"[0-9a-f]{64}\"");
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "myBook", "attachment")
+                .queryParam("id", attachmentId)
+                .queryParam("format", "THUMB").build())
+            .headers(headers -> {
+                headers.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot()));
+                headers.setIfNoneMatch(eTag);
+            })
+            .exchange()
+            .expectStatus().isNotModified()
+            .expectBody().isEmpty();
+    }
+
     @Test
     @SneakyThrows
     void findNotExistsAttachmentMustReturnNotFoundResponse() {
@@ -9,10 +9,12 @@ import io.github.enkarin.bookcrossing.support.TestDataProvider;
 import io.github.enkarin.bookcrossing.user.dto.UserDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -56,6 +58,50 @@ class BookControllerTest extends BookCrossingBaseTests {
             .isEmpty();
     }
 
+    @Test
+    void booksShouldFailWithZeroPageSize() {
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("books", "all")
+                .queryParam("pageNumber", 0)
+                .queryParam("pageSize", 0)
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(400)
+            .expectBody().jsonPath("$.errorList[0]").isEqualTo("3016");
+    }
+
+    @Test
+    void booksAfterShouldFailWithInvalidCursor() {
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("books", "all", "cursor")
+                .queryParam("cursor", "@@@")
+                .queryParam("pageSize", 10)
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(400)
+            .expectBody()
+            .jsonPath("$.error")
+            .isEqualTo(ErrorMessage.ERROR_2009.getCode());
+    }
+
+    @Test
+    void booksAfterShouldFailWithInvalidPageSize() {
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("books", "all", "cursor")
+                .queryParam("pageSize", 0)
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(400)
+            .expectBody().jsonPath("$.errorList[0]").isEqualTo("3016");
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("books", "all", "cursor")
+                .queryParam("pageSize", Integer.MAX_VALUE)
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(400)
+            .expectBody().jsonPath("$.errorList[0]").isEqualTo("3016");
+    }
+
     @Test
     void bookInfoShouldnWork() {
         final var user = TestDataProvider.buildUsers().stream()
@@ -171,6 +217,20 @@ class BookControllerTest extends BookCrossingBaseTests {
             .expectBody().jsonPath("$.errorList[0]").isEqualTo("3008");
     }
 
+    @Test
+    void searchShouldFailWithZeroPageSize() {
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("books", "search")
+                .queryParam("name", "портрет")
+                .queryParam("pageNumber", 0)
+                .queryParam("pageSize", 0)
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(400)
+            .expectBody().jsonPath("$.errorList[0]").isEqualTo("3016");
+    }
+
     @Test
     void searchWithFiltersShouldnWork() {
         final var user = TestDataProvider.buildUsers().stream()
@@ -222,6 +282,21 @@ class BookControllerTest extends BookCrossingBaseTests {
             .containsOnly(TestDataProvider.buildWolves(booksId.get(2), "Novosibirsk"));
     }
 
+    @Test
+    void searchWithFiltersShouldFailWithInvalidPage() {
+        assertThat(webClient
+            .method(HttpMethod.POST)
+            .uri(uriBuilder -> uriBuilder.pathSegment("books", "searchWithFilters").build())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(BookFiltersRequest.create("Wolves", null, null, null, List.of(), null, 0, -1, 0))
+            .exchange()
+            .expectStatus().isEqualTo(406)
+            .expectBody(new ParameterizedTypeReference<Map<String, List<String>>>() {
+            }).returnResult().getResponseBody())
+            .isNotEmpty()
+            .satisfies(m -> assertThat(m.get("errorList")).containsExactlyInAnyOrder("3016", "3017"));
+    }
+
     @Test
     void getBooksByUserShouldWork() {
         final var user = createAndSaveUser(TestDataProvider.buildAlex());
@@ -1,5 +1,6 @@
 package io.github.enkarin.bookcrossing.books.service;
 
+import io.github.enkarin.bookcrossing.books.dto.AttachmentDto;
 import io.github.enkarin.bookcrossing.books.dto.AttachmentMultipartDto;
 import io.github.enkarin.bookcrossing.books.dto.BookModelDto;
 import io.github.enkarin.bookcrossing.books.enums.FormatType;
@@ -85,7 +86,8 @@ class AttachmentServiceTest extends BookCrossingBaseTests {
 
         final BookModelDto targetBook = bookService.findById(book1.getBookId());
         assertThat(targetBook.getTitleAttachmentId()).isNotNull();
-        assertThat(attachmentService.findAttachmentData(targetBook.getTitleAttachmentId(), FormatType.ORIGIN).getData()).isEqualTo(secondMultipartFile.getBytes());
+        assertThat(attachmentService.findAttachmentData(targetBook.getTitleAttachmentId(), FormatType.ORIGIN).getData().getInputStream().readAllBytes())
+            .isEqualTo(secondMultipartFile.getBytes());
     }
 
     @Test
@@ -143,6 +145,7 @@ class AttachmentServiceTest extends BookCrossingBaseTests {
         attachmentService.deleteAttachment(titleAttachmentId, users.get(1).getLogin());
 
         assertThat(jdbcTemplate.queryForObject("select exists(select * from bookcrossing.t_attach where attach_id = ?)", Boolean.class, titleAttachmentId)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("select exists(select * from bookcrossing.t_attach_variant where attach_id = ?)", Boolean.class, titleAttachmentId)).isFalse();
         assertThat(bookService.findAll(0, 5)).hasSize(4);
     }
 
@@ -177,7 +180,8 @@ class AttachmentServiceTest extends BookCrossingBaseTests {
         final MultipartFile multipartFile = new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath()));
         attachmentService.saveTitleAttachment(AttachmentMultipartDto.fromFile(book1, multipartFile), users.get(1).getLogin());
 
-        assertThat(attachmentService.findAttachmentData(bookService.findById(book1).getTitleAttachmentId(), FormatType.ORIGIN).getData()).isEqualTo(multipartFile.getBytes());
+        assertThat(attachmentService.findAttachmentData(bookService.findById(book1).getTitleAttachmentId(), FormatType.ORIGIN).getData().getInputStream().readAllBytes())
+            .isEqualTo(multipartFile.getBytes());
     }
 
     @Test
@@ -226,8 +230,9 @@ class AttachmentServiceTest extends BookCrossingBaseTests {
         final File file = ResourceUtils.getFile("classpath:files/image.jpg");
         final MultipartFile multipartFile = new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath()));
         attachmentService.saveTitleAttachment(AttachmentMultipartDto.fromFile(book1, multipartFile), users.get(1).getLogin());
+        awaitImageJobs();
 
-        assertThat(attachmentService.findAttachmentData(bookService.findById(book1).getTitleAttachmentId(), FormatType.LIST).getData().length)
+        assertThat(attachmentService.findAttachmentData(bookService.findById(book1).getTitleAttachmentId(), FormatType.LIST).getData().contentLength())
             .isLessThan(multipartFile.getBytes().length);
     }
 
@@ -235,9 +240,49 @@ class AttachmentServiceTest extends BookCrossingBaseTests {
     @SneakyThrows
     void findThumbImageAttachment() {
         final int attachmentId = bookService.findById(createAttachment()).getTitleAttachmentId();
+        awaitImageJobs();
 
-        assertThat(attachmentService.findAttachmentData(attachmentId, FormatType.THUMB).getData().length)
-            .isLessThan(attachmentService.findAttachmentData(attachmentId, FormatType.LIST).getData().length);
+        assertThat(attachmentService.findAttachmentData(attachmentId, FormatType.THUMB).getData().contentLength())
+            .isLessThan(attachmentService.findAttachmentData(attachmentId, FormatType.LIST).getData().contentLength());
+    }
+
+    @Test
+    @SneakyThrows
+    void saveAttachmentShouldStoreEveryVariantSeparately() {
+        final int attachmentId = bookService.findById(createAttachment()).getTitleAttachmentId();
+        awaitImageJobs();
+
+        assertThat(jdbcTemplate.queryForList("select format from bookcrossing.t_attach_variant where attach_id = ?", String.class, attachmentId))
+            .containsExactlyInAnyOrder("ORIGIN", "LIST", "THUMB");
+        assertThat(attachmentService.findAttachmentData(attachmentId, FormatType.THUMB).getExpansion()).isEqualTo("jpg");
+    }
+
+    @Test
+    @SneakyThrows
+    void findAttachmentDataShouldFallBackToOriginalUntilVariantIsBuilt() {
+        final int attachmentId = bookService.findById(createAttachment()).getTitleAttachmentId();
+        awaitImageJobs();
+        jdbcTemplate.update("delete from bookcrossing.t_attach_variant where attach_id = ? and format <> 'ORIGIN'", attachmentId);
+
+        final AttachmentDto thumb = attachmentService.findAttachmentData(attachmentId, FormatType.THUMB);
+
+        assertThat(thumb.isProvisional()).isTrue();
+        assertThat(thumb.getContentHash()).isEqualTo(attachmentService.findAttachmentData(attachmentId, FormatType.ORIGIN).getContentHash());
+        assertThat(thumb.getData().contentLength()).isEqualTo(ResourceUtils.getFile("classpath:files/image.jpg").length());
+    }
+
+    @Test
+    void saveTitleAttachmentShouldFailWithNotImageContent() throws IOException {
+        final int book1 = bookService.saveBook(TestDataProvider.buildWolves(), users.get(1).getLogin()).getBookId();
+        final File file = ResourceUtils.getFile("classpath:files/text.txt");
+        final MultipartFile multipartFile = new MockMultipartFile("text.jpg", "text.jpg", "image/jpg", Files.readAllBytes(file.toPath()));
+        final AttachmentMultipartDto dto = AttachmentMultipartDto.fromFile(book1, multipartFile);
+        final var userLogin = users.get(1).getLogin();
+
+        assertThatThrownBy(() -> attachmentService.saveTitleAttachment(dto, userLogin))
+            .isInstanceOf(UnsupportedImageTypeException.class)
+            .hasMessage(ErrorMessage.ERROR_2008.getCode());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookcrossing.t_image_job", Integer.class)).isZero();
     }
 
     @Test
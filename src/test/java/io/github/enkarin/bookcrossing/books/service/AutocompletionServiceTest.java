@@ -1,5 +1,6 @@
 package io.github.enkarin.bookcrossing.books.service;
 
+import io.github.enkarin.bookcrossing.books.dto.ChangeBookDto;
 import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
 import io.github.enkarin.bookcrossing.support.TestDataProvider;
 import io.github.enkarin.bookcrossing.user.dto.UserDto;
@@ -11,6 +12,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 class AutocompletionServiceTest extends BookCrossingBaseTests {
     @Autowired
     private AutocompletionService autocompletionService;
+    @Autowired
+    private AutocompletionIndex autocompletionIndex;
 
     @Test
     void autocompleteBookName() {
@@ -60,6 +63,39 @@ class AutocompletionServiceTest extends BookCrossingBaseTests {
         assertThat(autocompletionService.findAuthorNamesByTitleOrAuthor("tit")).isEmpty();
     }
 
+    @Test
+    void autocompleteShouldFollowChangedAndDeletedBooks() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        final int dandelion = bookService.saveBook(TestDataProvider.buildDandelion(), user.getLogin()).getBookId();
+        final int dorian = bookService.saveBook(TestDataProvider.buildDorian(), user.getLogin()).getBookId();
+
+        bookService.changeBook(user.getLogin(), ChangeBookDto.builder().bookId(dandelion).title("Castle").build());
+        bookService.deleteBook(user.getLogin(), dorian);
+
+        assertThat(autocompletionService.autocompleteBookNameOrAuthor("an")).isEmpty();
+        assertThat(autocompletionService.autocompleteBookNameOrAuthor("cas")).containsOnly("Castle");
+    }
+
+    @Test
+    void autocompleteShouldRankFrequentTitlesFirst() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        bookService.saveBook(TestDataProvider.buildDandelion(), user.getLogin());
+        bookService.saveBook(TestDataProvider.buildDorian(), user.getLogin());
+        bookService.saveBook(TestDataProvider.buildDorian(), user.getLogin());
+
+        assertThat(autocompletionService.autocompleteBookNameOrAuthor("AN")).containsExactly("Dorian", "Dandelion");
+    }
+
+    @Test
+    void rebuildShouldRestoreIndexFromDatabase() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        bookService.saveBook(TestDataProvider.buildWolves(), user.getLogin());
+
+        autocompletionIndex.rebuild();
+
+        assertThat(autocompletionService.autocompleteBookNameOrAuthor("wol")).containsOnly("Wolves");
+    }
+
     private void largeInitBook() {
         final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
         bookService.saveBook(TestDataProvider.buildDandelion(), user.getLogin());
@@ -1,5 +1,6 @@
 package io.github.enkarin.bookcrossing.books.service;
 
+import io.github.enkarin.bookcrossing.books.dto.BookCursorPageDto;
 import io.github.enkarin.bookcrossing.books.dto.BookDto;
 import io.github.enkarin.bookcrossing.books.dto.BookFiltersRequest;
 import io.github.enkarin.bookcrossing.books.dto.BookModelDto;
@@ -7,6 +8,7 @@ import io.github.enkarin.bookcrossing.books.dto.ChangeBookDto;
 import io.github.enkarin.bookcrossing.books.enums.Status;
 import io.github.enkarin.bookcrossing.exception.BookNotFoundException;
 import io.github.enkarin.bookcrossing.exception.GenreNotFoundException;
+import io.github.enkarin.bookcrossing.exception.InvalidCursorException;
 import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
 import io.github.enkarin.bookcrossing.support.TestDataProvider;
@@ -230,6 +232,90 @@ class BookServiceTest extends BookCrossingBaseTests {
             .isEmpty();
     }
 
+    @Test
+    void filterShouldIgnoreCase() {
+        final List<UserDto> users = TestDataProvider.buildUsers().stream()
+            .map(this::createAndSaveUser)
+            .toList();
+
+        bookService.saveBook(TestDataProvider.buildDandelion(), users.get(0).getLogin());
+        final int book2 = bookService.saveBook(TestDataProvider.buildWolves(), users.get(1).getLogin()).getBookId();
+
+        assertThat(bookService.filter(BookFiltersRequest
+            .create("WOLVES", "NOVOSIBIRSK", null, "AUTHOR", null, "PUBLISHING_HOUSE", 0, 0, 10)))
+            .containsExactly(TestDataProvider.buildWolves(book2, users.get(1).getCity()));
+    }
+
+    @Test
+    void findAllWithPaginationShouldSkipBooksOfLockedOwner() {
+        final List<UserDto> users = TestDataProvider.buildUsers().stream()
+            .map(this::createAndSaveUser)
+            .toList();
+
+        bookService.saveBook(TestDataProvider.buildDorian(), users.get(0).getLogin());
+        final int book2 = bookService.saveBook(TestDataProvider.buildDandelion(), users.get(1).getLogin()).getBookId();
+        final int book3 = bookService.saveBook(TestDataProvider.buildWolves(), users.get(1).getLogin()).getBookId();
+        jdbcTemplate.update("update bookcrossing.t_user set account_non_locked = false where user_id = ?", users.get(0).getUserId());
+
+        assertThat(bookService.findAll(0, 1))
+            .extracting(BookModelDto::getBookId)
+            .containsExactly(book2);
+        assertThat(bookService.findAll(1, 1))
+            .extracting(BookModelDto::getBookId)
+            .containsExactly(book3);
+    }
+
+    @Test
+    void findAllAfterShouldWalkThroughAllPages() {
+        final List<UserDto> users = TestDataProvider.buildUsers().stream()
+            .map(this::createAndSaveUser)
+            .toList();
+
+        final int book1 = bookService.saveBook(TestDataProvider.buildDorian(), users.get(0).getLogin()).getBookId();
+        final int book2 = bookService.saveBook(TestDataProvider.buildDandelion(), users.get(1).getLogin()).getBookId();
+        final int book3 = bookService.saveBook(TestDataProvider.buildWolves(), users.get(1).getLogin()).getBookId();
+
+        final BookCursorPageDto firstPage = bookService.findAllAfter(null, 2);
+        assertThat(firstPage.getBooks())
+            .extracting(BookModelDto::getBookId)
+            .containsExactly(book1, book2);
+        assertThat(firstPage.getNextCursor()).isNotNull();
+
+        final BookCursorPageDto secondPage = bookService.findAllAfter(firstPage.getNextCursor(), 2);
+        assertThat(secondPage.getBooks())
+            .extracting(BookModelDto::getBookId)
+            .containsExactly(book3);
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void findByTitleOrAuthorAfterShouldFailWithInvalidCursor() {
+        assertThatThrownBy(() -> bookService.findByTitleOrAuthorAfter("Wolves", "not a cursor", 10))
+            .isInstanceOf(InvalidCursorException.class)
+            .hasMessage("Некорректный курсор страницы");
+    }
+
+    @Test
+    void searchShouldRankTitleMatchAboveAuthorMatch() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        final int authorMatch = bookService.saveBook(TestDataProvider.prepareBook().title("Castle").author("Wolves").genre(3).build(), user.getLogin()).getBookId();
+        final int titleMatch = bookService.saveBook(TestDataProvider.buildWolves(), user.getLogin()).getBookId();
+        bookService.saveBook(TestDataProvider.buildDorian(), user.getLogin());
+
+        assertThat(bookService.search("wolves", 0, 10))
+            .extracting(BookModelDto::getBookId)
+            .containsExactly(titleMatch, authorMatch);
+    }
+
+    @Test
+    void searchShouldSkipBooksOfLockedOwner() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        bookService.saveBook(TestDataProvider.buildWolves(), user.getLogin());
+        jdbcTemplate.update("update bookcrossing.t_user set account_non_locked = false where user_id = ?", user.getUserId());
+
+        assertThat(bookService.search("wolves", 0, 10)).isEmpty();
+    }
+
     @Test
     void deleteBookShouldWork() {
         final UserDto user1 = createAndSaveUser(TestDataProvider.buildBot());
@@ -0,0 +1,66 @@
+package io.github.enkarin.bookcrossing.chat.controllers;
+
+import io.github.enkarin.bookcrossing.chat.dto.MessageDto;
+import io.github.enkarin.bookcrossing.chat.dto.MessagePutRequest;
+import io.github.enkarin.bookcrossing.chat.service.CorrespondenceService;
+import io.github.enkarin.bookcrossing.chat.service.MessageService;
+import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
+import io.github.enkarin.bookcrossing.support.TestDataProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChatEventControllerTest extends BookCrossingBaseTests {
+
+    @Autowired
+    private CorrespondenceService correspondenceService;
+    @Autowired
+    private MessageService messageService;
+
+    @Test
+    void subscribeShouldDeliverSentAndEditedMessages() {
+        final var userBot = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(userBot.getUserId());
+        final var userAlex = createAndSaveUser(TestDataProvider.buildAlex());
+        enabledUser(userAlex.getUserId());
+        final var key = correspondenceService.createChat(userBot.getUserId(), userAlex.getLogin());
+        final Flux<ServerSentEvent<MessageDto>> events = subscribe();
+
+        final var message = messageService.sendMessage(TestDataProvider.buildMessageRequest(key), userBot.getLogin());
+        messageService.putMessage(MessagePutRequest.create(message.getMessageId(), "Hello"), userBot.getLogin());
+
+        final List<ServerSentEvent<MessageDto>> received = events
+            .filter(event -> event.event() != null)
+            .take(2)
+            .collectList()
+            .block(Duration.ofSeconds(10));
+        assertThat(received)
+            .extracting(ServerSentEvent::event)
+            .containsExactly("SENT", "EDITED");
+        assertThat(received)
+            .extracting(ServerSentEvent::data)
+            .doesNotContainNull()
+            .extracting(MessageDto::getText)
+            .containsExactly("Hi", "Hello");
+    }
+
+    private Flux<ServerSentEvent<MessageDto>> subscribe() {
+        return webClient.get()
+            .uri("/user/correspondence/events")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .headers(headers -> headers.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthAlex())))
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<MessageDto>>() {
+            })
+            .getResponseBody();
+    }
+}
@@ -296,6 +296,40 @@ class CorrespondenceControllerTest extends BookCrossingBaseTests {
         });
     }
 
+    @Test
+    void getCorrespondenceShouldReturnMessagesBeforeCursor() {
+        final var userBot = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(userBot.getUserId());
+        final var userAlexId = createAndSaveUser(TestDataProvider.buildAlex()).getUserId();
+        enabledUser(userAlexId);
+        final var key = correspondenceService.createChat(userAlexId, userBot.getLogin());
+        messageService.sendMessage(MessageRequest.create(key, "Hi"), userBot.getLogin());
+        messageService.sendMessage(MessageRequest.create(key, "Hi1"), userBot.getLogin());
+        final var cursor = messageService.sendMessage(MessageRequest.create(key, "Hi2"), userBot.getLogin());
+        messageService.sendMessage(MessageRequest.create(key, "Hi3"), userBot.getLogin());
+
+        final var response = webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("user", "correspondence")
+                .queryParam("zone", 0)
+                .queryParam("beforeMessageId", cursor.getMessageId())
+                .queryParam("pageSize", 20)
+                .build())
+            .headers(headers -> {
+                headers.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot()));
+                headers.set(FIRST_USER_ID, String.valueOf(userBot.getUserId()));
+                headers.set(SECOND_USER_ID, String.valueOf(userAlexId));
+            })
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .expectBodyList(MessageDto.class)
+            .returnResult().getResponseBody();
+
+        assertThat(response)
+            .extracting(MessageDto::getText)
+            .containsExactly("Hi1", "Hi");
+    }
+
     @Test
     void getCorrespondenceShouldFailWithNoAccess() {
         final var userBot = createAndSaveUser(TestDataProvider.buildBot()).getUserId();
@@ -378,10 +412,10 @@ class CorrespondenceControllerTest extends BookCrossingBaseTests {
             .expectStatus().isEqualTo(200)
             .expectBodyList(ChatInfo.class)
             .returnResult().getResponseBody();
-        assertThat(response).containsOnly(
-            new ChatInfo(userBot.getName(), "))", userBot.getUserId(), userBot.getUserId(), 2),
+        assertThat(response).containsExactly(
+            new ChatInfo(thirdBot.getName(), "Q", thirdBot.getUserId(), thirdBot.getUserId(), 2),
             new ChatInfo(secondBot.getName(), "Hi", secondBot.getUserId(), secondBot.getUserId(), 1),
-            new ChatInfo(thirdBot.getName(), "Q", thirdBot.getUserId(), thirdBot.getUserId(), 2));
+            new ChatInfo(userBot.getName(), "))", userBot.getUserId(), userBot.getUserId(), 2));
     }
 
     private WebTestClient.ResponseSpec execute(final HttpMethod httpMethod, final int userId, final int status) {
@@ -158,8 +158,8 @@ class MessageControllerTest extends BookCrossingBaseTests {
 
         execute(messageId, 200);
 
-        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), 0, 10, 0, userBot.getLogin())).isEmpty();
-        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), 0, 10, 0, userAlex.getLogin())).isEmpty();
+        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), null, 0, 10, 0, userBot.getLogin())).isEmpty();
+        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), null, 0, 10, 0, userAlex.getLogin())).isEmpty();
     }
 
     @Test
@@ -199,8 +199,8 @@ class MessageControllerTest extends BookCrossingBaseTests {
 
         executeDeleteForMe(messageId, generateAccessToken(TestDataProvider.buildAuthBot()), 200);
 
-        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), 0, 10, 0, userBot.getLogin())).isEmpty();
-        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), 0, 10, 0, userAlex.getLogin())).hasSize(1);
+        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), null, 0, 10, 0, userBot.getLogin())).isEmpty();
+        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), null, 0, 10, 0, userAlex.getLogin())).hasSize(1);
     }
 
     @Test
@@ -215,8 +215,8 @@ class MessageControllerTest extends BookCrossingBaseTests {
 
         executeDeleteForMe(messageId, generateAccessToken(TestDataProvider.buildAuthAlex()), 200);
 
-        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), 0, 10, 0, userBot.getLogin())).hasSize(1);
-        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), 0, 10, 0, userAlex.getLogin())).isEmpty();
+        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), null, 0, 10, 0, userBot.getLogin())).hasSize(1);
+        assertThat(correspondenceService.getChat(key.getFirstUserId(), key.getSecondUserId(), null, 0, 10, 0, userAlex.getLogin())).isEmpty();
     }
 
     @Test
@@ -48,6 +48,23 @@ class FindChatsServiceTest extends BookCrossingBaseTests {
             .contains(new ChatInfo(userBot.getName(), "Hello", userBot.getUserId(), userBot.getUserId(), 1));
     }
 
+    @Test
+    void findAllChatsAfterReadingChat() {
+        final var userBot = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(userBot.getUserId());
+        final var userAlex = createAndSaveUser(TestDataProvider.buildAlex());
+        enabledUser(userAlex.getUserId());
+        correspondenceService.createChat(userAlex.getUserId(), userBot.getLogin());
+        messageService.sendMessage(MessageRequest.create(UsersCorrKeyDto.fromFirstAndSecondId(userBot.getUserId(), userAlex.getUserId()), "Hello"), userBot.getLogin());
+        messageService.sendMessage(MessageRequest.create(UsersCorrKeyDto.fromFirstAndSecondId(userBot.getUserId(), userAlex.getUserId()), "Hi"), userBot.getLogin());
+
+        correspondenceService.getChat(userAlex.getUserId(), userBot.getUserId(), null, 0, 1, 0, userAlex.getLogin());
+
+        assertThat(findChatsService.findAllChats(0, 5, userAlex.getLogin()))
+            .extracting(ChatInfo::unreadQuantity)
+            .containsExactly(0);
+    }
+
     @Test
     void findAllChatsWithSwapKeys() {
         final var userBot = createAndSaveUser(TestDataProvider.buildBot());
@@ -80,8 +97,8 @@ class FindChatsServiceTest extends BookCrossingBaseTests {
         enabledUser(userAlex.getUserId());
         final UserDto[] userDto = configureSomeChats(userAlex);
 
-        assertThat(findChatsService.findAllChats(0, 2, userAlex.getLogin())).containsOnly(
-            new ChatInfo(userDto[0].getName(), "))", userDto[0].getUserId(), userDto[0].getUserId(), 2),
+        assertThat(findChatsService.findAllChats(0, 2, userAlex.getLogin())).containsExactly(
+            new ChatInfo(userDto[2].getName(), "Q", userDto[2].getUserId(), userDto[2].getUserId(), 2),
             new ChatInfo(userDto[1].getName(), "Hi", userDto[1].getUserId(), userDto[1].getUserId(), 1));
     }
 
@@ -93,7 +110,7 @@ class FindChatsServiceTest extends BookCrossingBaseTests {
         final UserDto[] userDto = configureSomeChats(userAlex);
 
         assertThat(findChatsService.findAllChats(1, 2, userAlex.getLogin()))
-            .containsOnly(new ChatInfo(userDto[2].getName(), "Q", userDto[2].getUserId(), userDto[2].getUserId(), 2));
+            .containsOnly(new ChatInfo(userDto[0].getName(), "))", userDto[0].getUserId(), userDto[0].getUserId(), 2));
     }
 
     private UserDto[] configureSomeChats(final UserDto mainUser) throws InterruptedException {
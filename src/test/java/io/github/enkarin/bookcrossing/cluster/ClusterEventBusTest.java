@@ -0,0 +1,103 @@
+package io.github.enkarin.bookcrossing.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.enkarin.bookcrossing.user.event.TokensRevokedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClusterEventBusTest {
+    private final MemoryTransport transport = new MemoryTransport(400);
+    private final List<Object> resyncs = new ArrayList<>();
+    private final ClusterEventBus first = createBus();
+    private final ClusterEventBus second = createBus();
+
+    @Test
+    void publishShouldDeliverLocallyAtOnceAndRemotelyAfterFlush() {
+        final List<TokensRevokedEvent> firstReceived = new ArrayList<>();
+        final List<TokensRevokedEvent> secondReceived = new ArrayList<>();
+        first.subscribe(TokensRevokedEvent.class, firstReceived::add);
+        second.subscribe(TokensRevokedEvent.class, secondReceived::add);
+
+        first.publish(new TokensRevokedEvent(1, 1, 0));
+
+        assertThat(firstReceived).containsExactly(new TokensRevokedEvent(1, 1, 0));
+        assertThat(secondReceived).isEmpty();
+
+        first.flush();
+
+        assertThat(firstReceived).containsExactly(new TokensRevokedEvent(1, 1, 0));
+        assertThat(secondReceived).containsExactly(new TokensRevokedEvent(1, 1, 0));
+    }
+
+    @Test
+    void flushShouldPackEventsIntoMessagesWithinSizeLimit() {
+        final List<TokensRevokedEvent> received = new ArrayList<>();
+        second.subscribe(TokensRevokedEvent.class, received::add);
+
+        first.publish(new TokensRevokedEvent(1, 1, 0));
+        first.publish(new TokensRevokedEvent(2, 1, 0));
+        first.publish(new TokensRevokedEvent(3, 1, 0));
+        first.publish(new Note("x".repeat(300)));
+        first.flush();
+
+        assertThat(transport.sent)
+            .hasSize(2)
+            .allSatisfy(message -> assertThat(message.length()).isLessThanOrEqualTo(400));
+        assertThat(received).containsExactly(new TokensRevokedEvent(1, 1, 0), new TokensRevokedEvent(2, 1, 0),
+            new TokensRevokedEvent(3, 1, 0));
+    }
+
+    @Test
+    void reconnectShouldPublishResyncEvent() {
+        transport.reconnect();
+
+        assertThat(resyncs).hasSize(2).allMatch(ClusterResyncEvent.class::isInstance);
+    }
+
+    private ClusterEventBus createBus() {
+        final ClusterEventBus bus = new ClusterEventBus(transport, new ObjectMapper(), resyncs::add, Duration.ofDays(1));
+        bus.start();
+        return bus;
+    }
+
+    private record Note(String text) {
+    }
+
+    private static final class MemoryTransport implements ClusterTransport {
+        private final int maxMessageSize;
+        private final List<String> sent = new ArrayList<>();
+        private final List<Consumer<String>> receivers = new ArrayList<>();
+        private final List<Runnable> reconnectListeners = new ArrayList<>();
+
+        MemoryTransport(final int maxMessageSize) {
+            this.maxMessageSize = maxMessageSize;
+        }
+
+        @Override
+        public int getMaxMessageSize() {
+            return maxMessageSize;
+        }
+
+        @Override
+        public void send(final List<String> messages) {
+            sent.addAll(messages);
+            messages.forEach(message -> receivers.forEach(receiver -> receiver.accept(message)));
+        }
+
+        @Override
+        public void listen(final Consumer<String> receiver, final Runnable onReconnect) {
+            receivers.add(receiver);
+            reconnectListeners.add(onReconnect);
+        }
+
+        void reconnect() {
+            reconnectListeners.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.enkarin.bookcrossing.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedDataSourceTest {
+    private final DataSource target = Mockito.mock(DataSource.class);
+    private final Connection targetConnection = Mockito.mock(Connection.class);
+    private final BoundedDataSource dataSource = new BoundedDataSource(target, 1, Duration.ofMillis(50));
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Mockito.when(target.getConnection()).thenReturn(targetConnection);
+    }
+
+    @Test
+    void getConnectionShouldFailWhenNoPermitIsReleasedWithinTimeout() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection).isEqualTo(connection);
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+
+        assertThat(dataSource.getAvailablePermits()).isOne();
+        Mockito.verify(targetConnection).close();
+    }
+
+    @Test
+    void closeShouldReleasePermitOnce() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.close();
+        }
+
+        assertThat(dataSource.getAvailablePermits()).isOne();
+        Mockito.verify(targetConnection, Mockito.times(2)).close();
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import io.github.enkarin.bookcrossing.books.dto.AttachmentMultipartDto;
+import io.github.enkarin.bookcrossing.books.enums.FormatType;
+import io.github.enkarin.bookcrossing.books.service.AttachmentService;
+import io.github.enkarin.bookcrossing.storage.BlobStorage;
+import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
+import io.github.enkarin.bookcrossing.support.TestDataProvider;
+import io.github.enkarin.bookcrossing.user.dto.UserDto;
+import io.github.enkarin.bookcrossing.user.service.AvatarService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.ResourceUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageJobWorkerTest extends BookCrossingBaseTests {
+    @Autowired
+    private AttachmentService attachmentService;
+
+    @Autowired
+    private ImageJobWorker imageJobWorker;
+
+    @Autowired
+    private BlobStorage blobStorage;
+
+    @Autowired
+    private AvatarService avatarService;
+
+    @Test
+    void pollShouldResumeJobLeftInTable() throws IOException {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        final int bookId = bookService.saveBook(TestDataProvider.buildWolves(), user.getLogin()).getBookId();
+        final File file = ResourceUtils.getFile("classpath:files/image.jpg");
+        attachmentService.saveTitleAttachment(AttachmentMultipartDto.fromFile(bookId,
+            new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath()))), user.getLogin());
+        final int attachmentId = bookService.findById(bookId).getTitleAttachmentId();
+        awaitImageJobs();
+        final String originalKey = attachmentService.findAttachmentData(attachmentId, FormatType.ORIGIN).getContentHash();
+        jdbcTemplate.update("delete from bookcrossing.t_attach_variant where attach_id = ? and format <> 'ORIGIN'", attachmentId);
+        jdbcTemplate.update("insert into bookcrossing.t_image_job (job_id, attach_id, source_key, available_at) " +
+            "values (nextval('bookcrossing.hibernate_sequence'), ?, ?, 0)", attachmentId, originalKey);
+
+        imageJobWorker.pollDueJobs();
+        awaitImageJobs();
+
+        assertThat(attachmentService.findAttachmentData(attachmentId, FormatType.LIST).isProvisional()).isFalse();
+        assertThat(attachmentService.findAttachmentData(attachmentId, FormatType.THUMB).isProvisional()).isFalse();
+    }
+
+    @Test
+    void jobShouldKeepNewerAvatar() throws IOException {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildBot());
+        final File file = ResourceUtils.getFile("classpath:files/image.jpg");
+        avatarService.putAvatar(user.getLogin(), new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath())));
+        awaitImageJobs();
+        final String avatarKey = avatarService.getAvatar(user.getUserId()).getContentHash();
+        final String staleKey = blobStorage.store(Files.readAllBytes(ResourceUtils.getFile("classpath:files/nature.jpeg").toPath()));
+        jdbcTemplate.update("insert into bookcrossing.t_image_job (job_id, user_id, source_key, available_at) " +
+            "values (nextval('bookcrossing.hibernate_sequence'), ?, ?, 0)", user.getUserId(), staleKey);
+
+        imageJobWorker.pollDueJobs();
+        awaitImageJobs();
+
+        assertThat(avatarService.getAvatar(user.getUserId()).getContentHash()).isEqualTo(avatarKey);
+    }
+}
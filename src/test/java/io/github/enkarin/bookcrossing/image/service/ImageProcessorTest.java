@@ -0,0 +1,45 @@
+package io.github.enkarin.bookcrossing.image.service;
+
+import org.imgscalr.Scalr;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageProcessorTest {
+    private final ImageProcessor imageProcessor = new ImageProcessor(new JpegImageEncoder(0.8f, 1), Scalr.Method.BALANCED);
+
+    @Test
+    void decodeShouldSubsampleLargeImageKeepingTwiceTargetSize() throws IOException {
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB), "jpg", content);
+
+        final BufferedImage image = imageProcessor.decode(new ByteArrayResource(content.toByteArray()), 300, 200);
+
+        assertThat(image.getWidth()).isBetween(600, 4000 / 2);
+        assertThat(image.getHeight()).isBetween(400, 3000 / 2);
+    }
+
+    @Test
+    void decodeShouldReturnNullForNotImageContent() throws IOException {
+        assertThat(imageProcessor.decode(new ClassPathResource("files/text.txt"), 300, 200)).isNull();
+    }
+
+    @Test
+    void encodeShouldWriteJpegFromImageWithAlpha() throws IOException {
+        final BufferedImage image = imageProcessor.resize(imageProcessor.decode(new ClassPathResource("files/antelope.png"), 70, 70), 70, 70);
+        final BufferedImage transparent = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        transparent.createGraphics().drawImage(image, 0, 0, null);
+
+        final BufferedImage encoded = ImageIO.read(imageProcessor.encode(transparent));
+
+        assertThat(encoded.getWidth()).isEqualTo(image.getWidth());
+        assertThat(imageProcessor.getExpansion()).isEqualTo("jpg");
+    }
+}
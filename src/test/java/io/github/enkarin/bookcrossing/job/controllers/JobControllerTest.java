@@ -0,0 +1,119 @@
+package io.github.enkarin.bookcrossing.job.controllers;
+
+import io.github.enkarin.bookcrossing.job.dto.JobDto;
+import io.github.enkarin.bookcrossing.job.dto.JobRunDto;
+import io.github.enkarin.bookcrossing.job.enums.JobRunStatus;
+import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
+import io.github.enkarin.bookcrossing.support.TestDataProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("PMD.UnusedPrivateMethod")
+class JobControllerTest extends BookCrossingBaseTests {
+
+    @AfterEach
+    void deleteJobs() {
+        jdbcTemplate.update("delete from bookcrossing.t_job_lock");
+    }
+
+    @Test
+    void runJobShouldRecordRun() {
+        final var run = webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("adm", "jobs", "run")
+                .queryParam("name", "message-alerts")
+                .queryParam("zone", 0)
+                .build())
+            .headers(this::setBearerAuth)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(JobRunDto.class)
+            .returnResult().getResponseBody();
+        assertThat(run)
+            .isNotNull()
+            .satisfies(r -> {
+                assertThat(r.getJobName()).isEqualTo("message-alerts");
+                assertThat(r.getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+                assertThat(r.getProcessed()).isZero();
+            });
+
+        assertThat(webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("adm", "jobs", "runs")
+                .queryParam("name", "message-alerts")
+                .queryParam("zone", 0)
+                .queryParam("pageNumber", 0)
+                .queryParam("pageSize", 10)
+                .build())
+            .headers(this::setBearerAuth)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(JobRunDto.class)
+            .returnResult().getResponseBody())
+            .containsExactly(run);
+        assertThat(webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("adm", "jobs")
+                .queryParam("zone", 0)
+                .build())
+            .headers(this::setBearerAuth)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(JobDto.class)
+            .returnResult().getResponseBody())
+            .hasSize(3)
+            .first()
+            .satisfies(j -> {
+                assertThat(j.getName()).isEqualTo("message-alerts");
+                assertThat(j.getLockedBy()).isEqualTo(run.getNode());
+            });
+    }
+
+    @Test
+    void runJobShouldFailWhenJobIsLockedByAnotherInstance() {
+        jdbcTemplate.update("insert into bookcrossing.t_job_lock (job_name, locked_until, locked_by) values ('message-alerts', ?, 'other')",
+            Long.MAX_VALUE);
+
+        assertThat(webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("adm", "jobs", "run")
+                .queryParam("name", "message-alerts")
+                .queryParam("zone", 0)
+                .build())
+            .headers(this::setBearerAuth)
+            .exchange()
+            .expectStatus().isEqualTo(409)
+            .expectBody(new ParameterizedTypeReference<Map<String, String>>() {
+            })
+            .returnResult().getResponseBody())
+            .containsEntry("error", "2011");
+    }
+
+    @Test
+    void runJobShouldFailWithUnknownJob() {
+        assertThat(webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("adm", "jobs", "run")
+                .queryParam("name", "unknown")
+                .queryParam("zone", 0)
+                .build())
+            .headers(this::setBearerAuth)
+            .exchange()
+            .expectStatus().isNotFound()
+            .expectBody(new ParameterizedTypeReference<Map<String, String>>() {
+            })
+            .returnResult().getResponseBody())
+            .containsEntry("error", "2010");
+    }
+
+    private void setBearerAuth(@Nonnull final HttpHeaders headers) {
+        headers.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthAdmin()));
+    }
+}
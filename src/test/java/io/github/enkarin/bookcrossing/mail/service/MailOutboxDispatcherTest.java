@@ -0,0 +1,46 @@
+package io.github.enkarin.bookcrossing.mail.service;
+
+import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
+import io.github.enkarin.bookcrossing.support.TestDataProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailOutboxDispatcherTest extends BookCrossingBaseTests {
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void dispatchShouldSendQueuedMail() throws MessagingException {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        awaitMail();
+
+        mailOutboxService.enqueue(user.getUserId(), user.getEmail(), "Subject", "Text");
+        awaitMail();
+
+        assertThat(GREEN_MAIL.getReceivedMessagesForDomain(user.getEmail()))
+            .extracting(MimeMessage::getSubject)
+            .contains("Subject");
+        assertThat(meterRegistry.get("mail.outbox.send").timer().count()).isPositive();
+    }
+
+    @Test
+    void dispatchShouldDropMailWithMalformedRecipient() {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        awaitMail();
+        final double dropped = meterRegistry.get("mail.outbox.dropped").counter().count();
+
+        mailOutboxService.enqueue(user.getUserId(), "not an address", "Subject", "Text");
+        awaitMail();
+
+        assertThat(meterRegistry.get("mail.outbox.dropped").counter().count()).isEqualTo(dropped + 1);
+    }
+}
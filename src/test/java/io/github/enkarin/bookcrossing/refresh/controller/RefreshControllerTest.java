@@ -19,6 +19,7 @@ class RefreshControllerTest extends BookCrossingBaseTests {
     @Test
     void refreshShouldWork() {
         final UserDto user = createAndSaveUser(TestDataProvider.buildAlex());
+        awaitMail();
         final MimeMessage message = GREEN_MAIL.getReceivedMessagesForDomain(user.getEmail())[0];
         final String token = new String(Base64.getMimeDecoder().decode(GreenMailUtil.getBody(message)),
             StandardCharsets.UTF_8)
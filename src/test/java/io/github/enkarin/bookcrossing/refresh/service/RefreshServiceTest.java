@@ -1,7 +1,11 @@
 package io.github.enkarin.bookcrossing.refresh.service;
 
+import io.github.enkarin.bookcrossing.admin.dto.LockedUserDto;
+import io.github.enkarin.bookcrossing.admin.service.AdminService;
+import io.github.enkarin.bookcrossing.exception.LockedAccountException;
 import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
 import io.github.enkarin.bookcrossing.exception.RefreshTokenInvalidException;
+import io.github.enkarin.bookcrossing.exception.RefreshTokenReusedException;
 import io.github.enkarin.bookcrossing.exception.TokenNotFoundException;
 import io.github.enkarin.bookcrossing.exception.UserNotFoundException;
 import io.github.enkarin.bookcrossing.registration.dto.AuthResponse;
@@ -19,6 +23,8 @@ class RefreshServiceTest extends BookCrossingBaseTests {
 
     @Autowired
     private RefreshService refreshService;
+    @Autowired
+    private AdminService adminService;
 
     @Test
     void createTokensTest() {
@@ -64,4 +70,40 @@ class RefreshServiceTest extends BookCrossingBaseTests {
         assertThat(jdbcTemplate.queryForObject("select exists(select * from bookcrossing.t_refresh where refresh_id = ?)",
             Boolean.class, token)).isFalse();
     }
+
+    @Test
+    void createTokensShouldReplacePreviousToken() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildAlex());
+        final String first = refreshService.createTokens(user.getLogin()).getRefreshToken();
+        final String second = refreshService.createTokens(user.getLogin()).getRefreshToken();
+
+        assertThat(jdbcTemplate.queryForList("select refresh_id from bookcrossing.t_refresh where r_user = ?",
+            String.class, user.getLogin())).containsExactly(second);
+        assertThatThrownBy(() -> refreshService.updateTokens(first))
+            .isInstanceOf(TokenNotFoundException.class);
+    }
+
+    @Test
+    void updateTokenReusedExcTest() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildAlex());
+        final String token = refreshService.createTokens(user.getLogin()).getRefreshToken();
+        final String rotated = refreshService.updateTokens(token).getRefreshToken();
+
+        assertThatThrownBy(() -> refreshService.updateTokens(token))
+            .isInstanceOf(RefreshTokenReusedException.class)
+            .hasMessage("Токен обновления уже использован");
+        assertThatThrownBy(() -> refreshService.updateTokens(rotated))
+            .isInstanceOf(TokenNotFoundException.class);
+    }
+
+    @Test
+    void updateTokensShouldFailForLockedUser() {
+        final UserDto user = createAndSaveUser(TestDataProvider.buildAlex());
+        final String token = refreshService.createTokens(user.getLogin()).getRefreshToken();
+        adminService.lockedUser(LockedUserDto.create(user.getLogin(), "Заблокировано"));
+
+        assertThatThrownBy(() -> refreshService.updateTokens(token))
+            .isInstanceOf(LockedAccountException.class)
+            .hasMessage("Аккаунт заблокирован");
+    }
 }
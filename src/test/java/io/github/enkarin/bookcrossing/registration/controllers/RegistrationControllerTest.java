@@ -35,6 +35,7 @@ class RegistrationControllerTest extends BookCrossingBaseTests {
         assertThat(user.getAboutMe()).isEqualTo("Hi! I'm Max");
 
         trackUserId(user.getUserId());
+        awaitMail();
 
         assertThat(GREEN_MAIL.getReceivedMessagesForDomain(user.getEmail()))
             .extracting(MimeMessage::getAllRecipients)
@@ -150,6 +151,7 @@ class RegistrationControllerTest extends BookCrossingBaseTests {
     @Test
     void mailConfirmTest() {
         final UserDto user = createAndSaveUser(TestDataProvider.buildAlex());
+        awaitMail();
         final MimeMessage message = GREEN_MAIL.getReceivedMessagesForDomain(user.getEmail())[0];
         final String token = new String(Base64.getMimeDecoder().decode(GreenMailUtil.getBody(message)),
             StandardCharsets.UTF_8)
@@ -15,6 +15,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(OutputCaptureExtension.class)
@@ -71,14 +73,34 @@ class MessageAlertsServiceTest extends BookCrossingBaseTests {
     }
 
     @Test
-    void sendAlertsShouldNotUpdateIsAlertWithMessageIsDeclaimTrue() {
+    void sendAlertsShouldSendOneLetterForAllUnreadMessagesOnce(final CapturedOutput output) {
+        final var userBot = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(userBot.getUserId());
+        final var userAlex = createAndSaveUser(TestDataProvider.buildAlex());
+        enabledUser(userAlex.getUserId());
+        final var key = correspondenceService.createChat(userBot.getUserId(), userAlex.getLogin());
+        final var firstMessageId = messageService.sendMessage(TestDataProvider.buildMessageRequest(key), userBot.getLogin()).getMessageId();
+        final var secondMessageId = messageService.sendMessage(TestDataProvider.buildMessageRequest(key), userBot.getLogin()).getMessageId();
+
+        messageAlertsService.sendAlerts();
+        messageAlertsService.sendAlerts();
+
+        assertThat(messageRepository.findAllById(List.of(firstMessageId, secondMessageId)))
+            .hasSize(2)
+            .allMatch(Message::isAlertSent);
+        assertThat(output.getOut().split(String.format("Sending alert for userId %d", userAlex.getUserId()), -1))
+            .hasSize(2);
+    }
+
+    @Test
+    void sendAlertsShouldNotUpdateIsAlertWithMessageAlreadyRead() {
         final var userBot = createAndSaveUser(TestDataProvider.buildBot());
         enabledUser(userBot.getUserId());
         final var userAlex = createAndSaveUser(TestDataProvider.buildAlex());
         enabledUser(userAlex.getUserId());
         final var key = correspondenceService.createChat(userBot.getUserId(), userAlex.getLogin());
         final var messageId = messageService.sendMessage(TestDataProvider.buildMessageRequest(key), userBot.getLogin()).getMessageId();
-        jdbcTemplate.update("update bookcrossing.t_messages set declaim = true where message_id = " + messageId);
+        correspondenceService.getChat(userAlex.getUserId(), userBot.getUserId(), null, 0, 10, 0, userAlex.getLogin());
 
         messageAlertsService.sendAlerts();
 
@@ -0,0 +1,50 @@
+package io.github.enkarin.bookcrossing.schedulingtasks;
+
+import io.github.enkarin.bookcrossing.refresh.service.RefreshService;
+import io.github.enkarin.bookcrossing.support.BookCrossingBaseTests;
+import io.github.enkarin.bookcrossing.support.TestDataProvider;
+import io.github.enkarin.bookcrossing.user.dto.UserDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetentionServiceTest extends BookCrossingBaseTests {
+
+    @Autowired
+    private RetentionService retentionService;
+    @Autowired
+    private RefreshService refreshService;
+
+    @Test
+    void runShouldDeleteOnlyExpiredTokens() {
+        final UserDto alex = createAndSaveUser(TestDataProvider.buildAlex());
+        enabledUser(alex.getUserId());
+        final UserDto bot = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(bot.getUserId());
+        final String expired = refreshService.createTokens(alex.getLogin()).getRefreshToken();
+        final String actual = refreshService.createTokens(bot.getLogin()).getRefreshToken();
+        jdbcTemplate.update("update bookcrossing.t_refresh set date = 0 where refresh_id = ?", expired);
+        jdbcTemplate.update("update bookcrossing.t_action_mail_user set expires_at = 0 where user_id = ?", alex.getUserId());
+
+        assertThat(retentionService.run()).isGreaterThanOrEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("select refresh_id from bookcrossing.t_refresh where refresh_id in (?, ?)",
+            String.class, expired, actual)).containsExactly(actual);
+        assertThat(jdbcTemplate.queryForList("select user_id from bookcrossing.t_action_mail_user where user_id in (?, ?)",
+            Integer.class, alex.getUserId(), bot.getUserId())).containsExactly(bot.getUserId());
+    }
+
+    @Test
+    void runShouldDeleteUsersWithExpiredConfirmation() {
+        final int staleUserId = userService.saveUser(TestDataProvider.buildAlex()).getUserId();
+        final UserDto waiting = createAndSaveUser(TestDataProvider.buildBot());
+        jdbcTemplate.update("update bookcrossing.t_action_mail_user set expires_at = 0 where user_id = ?", staleUserId);
+
+        retentionService.run();
+
+        assertThat(jdbcTemplate.queryForList("select user_id from bookcrossing.t_user where user_id in (?, ?)",
+            Integer.class, staleUserId, waiting.getUserId())).containsExactly(waiting.getUserId());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from bookcrossing.t_user_role where user_id = ?",
+            Integer.class, staleUserId)).isZero();
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.enkarin.bookcrossing.security.password;
+
+import io.github.enkarin.bookcrossing.exception.InvalidPasswordException;
+import io.github.enkarin.bookcrossing.exception.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+    private final LoginThrottle loginThrottle = new LoginThrottle(Duration.ofMinutes(15), 100, 2, 3);
+
+    @Test
+    void attemptShouldRejectLoginAfterTooManyFailures() {
+        fail("Alex", "client-1");
+        fail("alex", "client-2");
+
+        assertThatThrownBy(() -> loginThrottle.attempt("alex", "client-3", () -> "tokens"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+        assertThat(loginThrottle.attempt("bot", "client-3", () -> "tokens")).isEqualTo("tokens");
+    }
+
+    @Test
+    void attemptShouldRejectAddressAfterTooManyFailures() {
+        fail("alex", "client-1");
+        fail("bot", "client-1");
+        fail("max", "client-1");
+
+        assertThatThrownBy(() -> loginThrottle.attempt("admin", "client-1", () -> "tokens"))
+            .isInstanceOf(TooManyLoginAttemptsException.class);
+    }
+
+    @Test
+    void successfulAttemptShouldResetLoginFailures() {
+        fail("alex", "client-1");
+        loginThrottle.attempt("alex", "client-2", () -> "tokens");
+        fail("alex", "client-3");
+
+        assertThat(loginThrottle.attempt("alex", "client-4", () -> "tokens")).isEqualTo("tokens");
+    }
+
+    private void fail(final String login, final String address) {
+        assertThatThrownBy(() -> loginThrottle.attempt(login, address, () -> {
+            throw new InvalidPasswordException();
+        })).isInstanceOf(InvalidPasswordException.class);
+    }
+}
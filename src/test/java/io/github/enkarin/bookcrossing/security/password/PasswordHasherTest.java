@@ -0,0 +1,111 @@
+package io.github.enkarin.bookcrossing.security.password;
+
+import io.github.enkarin.bookcrossing.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PasswordHasherTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingPasswordEncoder passwordEncoder = new BlockingPasswordEncoder();
+    private final PasswordHasher passwordHasher = new PasswordHasher(passwordEncoder, meterRegistry, 1, 2, Duration.ofSeconds(10));
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.release.countDown();
+        clients.shutdown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hasherShouldRejectWhenQueueIsFull() {
+        final CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"), clients);
+        await().until(() -> passwordEncoder.calls.contains("encode first"));
+        final CompletableFuture<String> secondQueued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"), clients);
+        final CompletableFuture<String> thirdQueued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("third"), clients);
+        await().until(() -> meterRegistry.get("password.hash.queue").gauge().value() == 2);
+
+        assertThatThrownBy(() -> passwordHasher.encode("fourth")).isInstanceOf(PasswordHashingBusyException.class);
+        assertThat(meterRegistry.get("password.hash.rejected").counter().count()).isOne();
+
+        passwordEncoder.release.countDown();
+
+        assertThat(running.join()).isEqualTo("hash first");
+        assertThat(secondQueued.join()).isEqualTo("hash second");
+        assertThat(thirdQueued.join()).isEqualTo("hash third");
+        assertThat(meterRegistry.get("password.hash").tag("operation", "encode").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void hasherShouldCheckPasswordsBeforeEncodingNewOnes() {
+        final CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("first"), clients);
+        await().until(() -> passwordEncoder.calls.contains("encode first"));
+        final CompletableFuture<String> encoding = CompletableFuture.supplyAsync(() -> passwordHasher.encode("second"), clients);
+        await().until(() -> meterRegistry.get("password.hash.queue").gauge().value() == 1);
+        final CompletableFuture<Boolean> matching = CompletableFuture.supplyAsync(() -> passwordHasher.matches("third", "hash third"), clients);
+        await().until(() -> meterRegistry.get("password.hash.queue").gauge().value() == 2);
+
+        passwordEncoder.release.countDown();
+
+        assertThat(running.join()).isEqualTo("hash first");
+        assertThat(encoding.join()).isEqualTo("hash second");
+        assertThat(matching.join()).isTrue();
+        assertThat(passwordEncoder.calls).containsExactly("encode first", "matches third", "encode second");
+    }
+
+    @Test
+    void timedOutTaskShouldNotTakeQueueCapacity() {
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final PasswordHasher hasher = new PasswordHasher(passwordEncoder, registry, 1, 1, Duration.ofSeconds(1));
+        try {
+            final CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("first"), clients);
+            await().until(() -> passwordEncoder.calls.contains("encode first"));
+
+            assertThatThrownBy(() -> hasher.encode("second")).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(registry.get("password.hash.queue").gauge().value()).isZero();
+
+            final CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("third"), clients);
+            await().until(() -> registry.get("password.hash.queue").gauge().value() == 1);
+            passwordEncoder.release.countDown();
+
+            assertThat(queued.join()).isEqualTo("hash third");
+            assertThatThrownBy(running::join).hasCauseInstanceOf(PasswordHashingBusyException.class);
+            assertThat(passwordEncoder.calls).containsExactly("encode first", "encode third");
+        } finally {
+            hasher.shutdown();
+        }
+    }
+
+    private static final class BlockingPasswordEncoder implements PasswordEncoder {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            calls.add("encode " + rawPassword);
+            await().until(() -> release.getCount() == 0);
+            return "hash " + rawPassword;
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            calls.add("matches " + rawPassword);
+            return encodedPassword.equals("hash " + rawPassword);
+        }
+    }
+}
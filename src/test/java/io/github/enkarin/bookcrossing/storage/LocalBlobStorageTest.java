@@ -0,0 +1,81 @@
+package io.github.enkarin.bookcrossing.storage;
+
+import io.github.enkarin.bookcrossing.configuration.TimeSettings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalBlobStorageTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void storeShouldDeduplicateEqualContent() throws IOException {
+        final LocalBlobStorage storage = new LocalBlobStorage(root.toString(), new TimeSettings());
+
+        final String first = storage.store("content".getBytes(StandardCharsets.UTF_8));
+        final String second = storage.store("content".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(first)
+            .isEqualTo(second)
+            .isEqualTo("ed7002b439e9ac845f22357d822bac1444730fbdb6016d3ec9432297b9ec9f73");
+        assertThat(storage.load(first).getInputStream().readAllBytes()).isEqualTo("content".getBytes(StandardCharsets.UTF_8));
+        assertThat(storage.findKeysStoredBefore(Instant.MAX)).containsExactly(first);
+    }
+
+    @Test
+    void deleteShouldRemoveBlob() {
+        final LocalBlobStorage storage = new LocalBlobStorage(root.toString(), new TimeSettings());
+        final String key = storage.store("content".getBytes(StandardCharsets.UTF_8));
+
+        storage.delete(key);
+
+        assertThat(storage.load(key).exists()).isFalse();
+        assertThat(storage.findKeysStoredBefore(Instant.MAX)).isEmpty();
+    }
+
+    @Test
+    void deleteIfStoredBeforeShouldKeepBlobStoredAgain() {
+        final TimeSettings timeSettings = new TimeSettings();
+        final LocalBlobStorage storage = new LocalBlobStorage(root.toString(), timeSettings);
+        final String key = storage.store("content".getBytes(StandardCharsets.UTF_8));
+        timeSettings.setClock(Clock.offset(Clock.system(ZoneOffset.UTC), Duration.ofHours(-2)));
+        storage.store("content".getBytes(StandardCharsets.UTF_8));
+        timeSettings.setClock(Clock.system(ZoneOffset.UTC));
+        final Instant cutoff = timeSettings.instantNow().minus(Duration.ofHours(1));
+
+        assertThat(storage.findKeysStoredBefore(cutoff)).containsExactly(key);
+        storage.store("content".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(storage.deleteIfStoredBefore(key, cutoff)).isFalse();
+        assertThat(storage.load(key).exists()).isTrue();
+    }
+
+    @Test
+    void deleteIfStoredBeforeShouldRemoveOldBlob() {
+        final LocalBlobStorage storage = new LocalBlobStorage(root.toString(), new TimeSettings());
+        final String key = storage.store("content".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(storage.deleteIfStoredBefore(key, Instant.MAX)).isTrue();
+        assertThat(storage.deleteIfStoredBefore(key, Instant.MAX)).isFalse();
+        assertThat(storage.load(key).exists()).isFalse();
+    }
+
+    @Test
+    void loadShouldRejectMalformedKey() {
+        final LocalBlobStorage storage = new LocalBlobStorage(root.toString(), new TimeSettings());
+
+        assertThatThrownBy(() -> storage.load("../../etc/passwd"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -19,8 +19,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+import static org.awaitility.Awaitility.await;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
@@ -47,6 +51,7 @@ public abstract class BookCrossingBaseTests {
 
     @AfterEach
     void delete() {
+        awaitMail();
         correspondenceRepository.deleteAll();
         usersId.forEach(userService::deleteUser);
         usersId.clear();
@@ -70,6 +75,16 @@ public abstract class BookCrossingBaseTests {
         return userService.findByLoginAndPassword(request).getAccessToken();
     }
 
+    protected void awaitImageJobs() {
+        await().atMost(Duration.ofSeconds(30))
+            .until(() -> Objects.equals(jdbcTemplate.queryForObject("select count(*) from bookcrossing.t_image_job", Integer.class), 0));
+    }
+
+    protected void awaitMail() {
+        await().atMost(Duration.ofSeconds(30))
+            .until(() -> Objects.equals(jdbcTemplate.queryForObject("select count(*) from bookcrossing.t_mail_outbox", Integer.class), 0));
+    }
+
     protected List<Integer> createAndSaveBooks(final String user) {
         return TestDataProvider.buildBooks().stream()
             .map(b -> bookService.saveBook(b, user))
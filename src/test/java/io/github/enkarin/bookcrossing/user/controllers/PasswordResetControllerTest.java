@@ -56,6 +56,31 @@ class PasswordResetControllerTest extends BookCrossingBaseTests {
         assertThatReturnException(TestDataProvider.buildUserPasswordDto(), 403, "$.error", ErrorMessage.ERROR_2003.getCode());
     }
 
+    @Test
+    void updatePasswordShouldFailWithExpiredToken() {
+        createAndSaveUser(TestDataProvider.buildBot());
+        webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("reset", "send")
+                .queryParam("email", "k.test@mail.ru")
+                .build())
+            .exchange()
+            .expectStatus().isEqualTo(200);
+        jdbcTemplate.update("update bookcrossing.t_action_mail_user set expires_at = 0 where type = 1");
+
+        final var token = jdbcTemplate.queryForObject("select confirmation_mail from bookcrossing.t_action_mail_user where type = 1", String.class);
+        webClient.post()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("reset", "update")
+                .queryParam("token", token)
+                .build())
+            .bodyValue(TestDataProvider.buildUserPasswordDto())
+            .exchange()
+            .expectStatus().isEqualTo(403)
+            .expectBody()
+            .jsonPath("$.error").isEqualTo(ErrorMessage.ERROR_2003.getCode());
+    }
+
     private void assertThatReturnException(final UserPasswordDto userPasswordDto, final int status, final String path, final String message) {
         webClient.post()
             .uri(uriBuilder -> uriBuilder
@@ -6,10 +6,13 @@ import io.github.enkarin.bookcrossing.support.TestDataProvider;
 import io.github.enkarin.bookcrossing.user.dto.UserProfileDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPutProfileDto;
+import io.github.enkarin.bookcrossing.user.service.AvatarService;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.mock.web.MockMultipartFile;
@@ -24,6 +27,8 @@ import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class UserProfileControllerTest extends BookCrossingBaseTests {
+    @Autowired
+    private AvatarService avatarService;
 
     @Test
     void getMyProfileShouldWork() {
@@ -206,7 +211,7 @@ class UserProfileControllerTest extends BookCrossingBaseTests {
             .exchange()
             .expectStatus().isEqualTo(201);
 
-        assertThat(userService.getAvatar(user.getUserId())).isNotNull();
+        assertThat(avatarService.getAvatar(user.getUserId())).isNotNull();
     }
 
     @Test
@@ -235,7 +240,7 @@ class UserProfileControllerTest extends BookCrossingBaseTests {
         enabledUser(user.getUserId());
         final File file = ResourceUtils.getFile("classpath:files/image.jpg");
         final MultipartFile multipartFile = new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath()));
-        userService.putAvatar(user.getLogin(), multipartFile);
+        avatarService.putAvatar(user.getLogin(), multipartFile);
 
         final var avatar = webClient.get()
             .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
@@ -249,6 +254,114 @@ class UserProfileControllerTest extends BookCrossingBaseTests {
         assertThat(avatar).isNotNull();
     }
 
+    @Test
+    @SneakyThrows
+    void getAvatarShouldRevalidateByETag() {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(user.getUserId());
+        final File file = ResourceUtils.getFile("classpath:files/image.jpg");
+        avatarService.putAvatar(user.getLogin(), new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath())));
+        awaitImageJobs();
+
+        final String eTag = webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot())))
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+            .returnResult(byte[].class).getResponseHeaders().getETag();
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> {
+                httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot()));
+                httpHeaders.setIfNoneMatch(eTag);
+            })
+            .exchange()
+            .expectStatus().isNotModified();
+
+        final File secondFile = ResourceUtils.getFile("classpath:files/nature.jpeg");
+        avatarService.putAvatar(user.getLogin(), new MockMultipartFile(secondFile.getName(), secondFile.getName(), "image/jpg", Files.readAllBytes(secondFile.toPath())));
+        awaitImageJobs();
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> {
+                httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot()));
+                httpHeaders.setIfNoneMatch(eTag);
+            })
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .expectHeader().value(HttpHeaders.ETAG, value -> assertThat(value).isNotEqualTo(eTag));
+    }
+
+    @Test
+    void getAbsentAvatarMustReturnNotFoundResponse() {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(user.getUserId());
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot())))
+            .exchange()
+            .expectStatus().isEqualTo(404)
+            .expectBody().jsonPath("$.error").isEqualTo("1018");
+    }
+
+    @Test
+    void getAvatarMustReturnNotFoundWhenBlobIsMissing() {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(user.getUserId());
+        jdbcTemplate.update("update bookcrossing.t_user set avatar_key = ?, avatar_expansion = 'png' where user_id = ?",
+            "0".repeat(64), user.getUserId());
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot())))
+            .exchange()
+            .expectStatus().isEqualTo(404)
+            .expectBody().jsonPath("$.error").isEqualTo("1018");
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvatarShouldReturnContentTypeOfStoredImage() {
+        final var user = createAndSaveUser(TestDataProvider.buildBot());
+        enabledUser(user.getUserId());
+        final File file = ResourceUtils.getFile("classpath:files/antelope.png");
+        avatarService.putAvatar(user.getLogin(), new MockMultipartFile(file.getName(), file.getName(), "image/png", Files.readAllBytes(file.toPath())));
+        final String originalKey = jdbcTemplate.queryForObject("select avatar_key from bookcrossing.t_user where user_id = ?", String.class, user.getUserId());
+        awaitImageJobs();
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot())))
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .expectHeader().contentType(MediaType.IMAGE_JPEG)
+            .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + user.getUserId() + ".jpg\"");
+        jdbcTemplate.update("update bookcrossing.t_user set avatar_key = ?, avatar_expansion = 'png' where user_id = ?", originalKey, user.getUserId());
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder.pathSegment("user", "profile", "avatar")
+                .queryParam("userId", user.getUserId())
+                .build())
+            .headers(httpHeaders -> httpHeaders.setBearerAuth(generateAccessToken(TestDataProvider.buildAuthBot())))
+            .exchange()
+            .expectStatus().isEqualTo(200)
+            .expectHeader().contentType(MediaType.IMAGE_PNG);
+    }
+
     private void assertThatReturnException(final UserPutProfileDto putProfileDto, final int status, final String message) {
         webClient.put()
             .uri(uriBuilder -> uriBuilder
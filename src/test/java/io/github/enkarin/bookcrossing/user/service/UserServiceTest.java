@@ -16,7 +16,9 @@ import io.github.enkarin.bookcrossing.user.dto.UserPublicProfileDto;
 import io.github.enkarin.bookcrossing.user.dto.UserPutProfileDto;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.util.ResourceUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -32,6 +34,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 class UserServiceTest extends BookCrossingBaseTests {
     private static final int GM_TIME_ZERO = 0;
 
+    @Autowired
+    private AvatarService avatarService;
+
     @Test
     void saveUserCorrectUserTest() {
         assertThat(userService.findById(createAndSaveUser(TestDataProvider.buildAlex()).getUserId(), GM_TIME_ZERO).getAboutMe()).isEqualTo("Hi, I'm Alex");
@@ -71,6 +76,20 @@ class UserServiceTest extends BookCrossingBaseTests {
         assertThat(userService.findByLoginAndPassword(LoginRequest.create(userDto.getEmail(), userDto.getPassword(), 7))).isNotNull();
     }
 
+    @Test
+    void loginShouldRehashLegacyPassword() {
+        final UserRegistrationDto userDto = TestDataProvider.buildAlex();
+        final int userId = createAndSaveUser(userDto).getUserId();
+        enabledUser(userId);
+        jdbcTemplate.update("update bookcrossing.t_user set password = ? where user_id = ?",
+            new BCryptPasswordEncoder(4).encode(userDto.getPassword()), userId);
+
+        assertThat(userService.findByLoginAndPassword(LoginRequest.create(userDto.getLogin(), userDto.getPassword(), 7))).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("select password from bookcrossing.t_user where user_id = ?", String.class, userId))
+            .startsWith("{bcrypt}$2a$10$");
+        assertThat(userService.findByLoginAndPassword(LoginRequest.create(userDto.getLogin(), userDto.getPassword(), 7))).isNotNull();
+    }
+
     @Test
     void confirmMailWrongTokenTest() {
         assertThatThrownBy(() -> userService.confirmMail("wrong token"))
@@ -78,6 +97,18 @@ class UserServiceTest extends BookCrossingBaseTests {
             .hasMessage("Токен не найден");
     }
 
+    @Test
+    void confirmMailExpiredTokenTest() {
+        final int userId = createAndSaveUser(TestDataProvider.buildAlex()).getUserId();
+        jdbcTemplate.update("update bookcrossing.t_action_mail_user set expires_at = 0 where user_id = ?", userId);
+        final String token = jdbcTemplate.queryForObject("select confirmation_mail from bookcrossing.t_action_mail_user where user_id = ?",
+            String.class, userId);
+
+        assertThatThrownBy(() -> userService.confirmMail(token))
+            .isInstanceOf(TokenNotFoundException.class)
+            .hasMessage("Токен не найден");
+    }
+
     @Test
     void findByLoginCorrectTest() {
         assertThat(userService.findByLogin(createAndSaveUser(TestDataProvider.buildAlex()).getLogin())).isNotNull();
@@ -151,6 +182,42 @@ class UserServiceTest extends BookCrossingBaseTests {
             .hasMessage("Пользователь не найден");
     }
 
+    @Test
+    void deleteUserShouldRevokeIssuedAccessTokens() {
+        final int userId = userService.saveUser(TestDataProvider.buildBot()).getUserId();
+        enabledUser(userId);
+        final String token = generateAccessToken(TestDataProvider.buildAuthBot());
+
+        userService.deleteUser(userId);
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("user", "profile")
+                .queryParam("zone", GM_TIME_ZERO)
+                .build())
+            .headers(headers -> headers.setBearerAuth(token))
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void userWithLoginOfDeletedUserShouldKeepAccessTokens() {
+        final int deletedUserId = userService.saveUser(TestDataProvider.buildBot()).getUserId();
+        enabledUser(deletedUserId);
+        userService.deleteUser(deletedUserId);
+        enabledUser(createAndSaveUser(TestDataProvider.buildBot()).getUserId());
+        final String token = generateAccessToken(TestDataProvider.buildAuthBot());
+
+        webClient.get()
+            .uri(uriBuilder -> uriBuilder
+                .pathSegment("user", "profile")
+                .queryParam("zone", GM_TIME_ZERO)
+                .build())
+            .headers(headers -> headers.setBearerAuth(token))
+            .exchange()
+            .expectStatus().isOk();
+    }
+
     @Test
     void putUserInfoTest() {
         final UserDto user = createAndSaveUser(TestDataProvider.buildAlex());
@@ -227,9 +294,9 @@ class UserServiceTest extends BookCrossingBaseTests {
         final File file = ResourceUtils.getFile("classpath:files/image.jpg");
         final MultipartFile multipartFile = new MockMultipartFile(file.getName(), file.getName(), "image/jpg", Files.readAllBytes(file.toPath()));
 
-        userService.putAvatar(user.getLogin(), multipartFile);
+        avatarService.putAvatar(user.getLogin(), multipartFile);
 
-        assertThat(userService.getAvatar(user.getUserId())).isNotNull();
+        assertThat(avatarService.getAvatar(user.getUserId())).isNotNull();
     }
 
     private static void checkEqual(final UserDto userDto, final UserRegistrationDto userRegistrationDto) {